@@ -0,0 +1,53 @@
+package com.ecommerce.cliente.benchmarks;
+
+import com.ecommerce.cliente.cache.ChaveCacheClientes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChaveCacheBenchmark {
+
+    private Pageable paginaSemOrdem;
+    private Pageable paginaOrdenada;
+    private String cpf;
+
+    @Setup
+    public void setUp() {
+        paginaSemOrdem = PageRequest.of(3, 20);
+        paginaOrdenada = PageRequest.of(3, 20, Sort.by("dataNascimento").and(Sort.by(Sort.Direction.DESC, "nome")));
+        cpf = "745.303.692-50";
+    }
+
+    @Benchmark
+    public String chaveCpf() {
+        return ChaveCacheClientes.chaveCpf(true, cpf);
+    }
+
+    @Benchmark
+    public String chavePaginaSemOrdem() {
+        return ChaveCacheClientes.chavePagina(true, 42, paginaSemOrdem);
+    }
+
+    @Benchmark
+    public String chavePaginaOrdenada() {
+        return ChaveCacheClientes.chavePagina(true, 42, paginaOrdenada);
+    }
+}
@@ -0,0 +1,203 @@
+package com.ecommerce.cliente.benchmarks;
+
+import com.ecommerce.cliente.cache.CpfsAusentes;
+import com.ecommerce.cliente.cache.InvalidadorCacheClientes;
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.ecommerce.cliente.dtos.JanelaClientesRecordDTO;
+import com.ecommerce.cliente.embedded.Endereco;
+import com.ecommerce.cliente.mappers.ClienteMapper;
+import com.ecommerce.cliente.models.ClienteModel;
+import com.ecommerce.cliente.paginacao.ContadorClientes;
+import com.ecommerce.cliente.replicacao.ConfirmacaoPrimario;
+import com.ecommerce.cliente.replicacao.LeituraPropriaEscrita;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import com.ecommerce.cliente.services.ClienteService;
+import com.ecommerce.cliente.services.EscritaAdiadaStatusService;
+import com.ecommerce.cliente.validation.ClienteValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos de leitura do {@link ClienteService} contra um H2 em memória, sem o proxy de cache: mede o custo
+ * da consulta, do mapeamento das entidades e da montagem da página ou da janela que o cache evita. A
+ * tabela {@code contagem_clientes} é criada à mão, sem o trigger, já que o esquema vem do Hibernate. O
+ * contexto sobe só com DataSource, JPA e transações, sem o {@code application.properties} da aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeituraClienteServiceBenchmark {
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    @Param({"10000"})
+    private int quantidadeClientes;
+
+    private ConfigurableApplicationContext contexto;
+
+    private ClienteService clienteService;
+
+    private List<String> cpfsAtivos;
+
+    private Pageable paginaOrdenada;
+
+    private String cursorMeio;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(ContextoLeitura.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.config.name=jmh-leitura",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:clientes;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                        "spring.jpa.properties.hibernate.order_inserts=true")
+                .run();
+
+        var repository = contexto.getBean(ClienteRepository.class);
+        var invalidadorCache = new InvalidadorCacheClientes(null, null);
+        var escritaAdiadaStatus = new EscritaAdiadaStatusService(repository, invalidadorCache,
+                contexto.getBean(PlatformTransactionManager.class), new SimpleMeterRegistry(), false, 1000, "");
+        clienteService = new ClienteService(repository, new ClienteValidator(repository, null),
+                Mappers.getMapper(ClienteMapper.class), invalidadorCache,
+                new LeituraPropriaEscrita(Duration.ofSeconds(10)),
+                new ContadorClientes(repository, Duration.ofSeconds(5)), escritaAdiadaStatus, null, null,
+                new CpfsAusentes(new NoOpCacheManager()),
+                new ConfirmacaoPrimario(contexto.getBean(PlatformTransactionManager.class)));
+
+        cpfsAtivos = popular(repository, contexto.getBean(PlatformTransactionManager.class));
+        criarContagem(new JdbcTemplate(contexto.getBean(DataSource.class)));
+        paginaOrdenada = PageRequest.of(0, TAMANHO_PAGINA, Sort.by("dataNascimento"));
+
+        String cursor = null;
+        for (int i = 0; i < quantidadeClientes / (4 * TAMANHO_PAGINA); i++) {
+            cursor = clienteService.buscarClientesAtivosPorCursor(cursor, TAMANHO_PAGINA).proximoCursor();
+        }
+        cursorMeio = cursor;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public ClienteResponseRecordDTO buscarClienteAtivoPorCpf() {
+        return clienteService.buscarClienteAtivoPorCpf(
+                cpfsAtivos.get(ThreadLocalRandom.current().nextInt(cpfsAtivos.size())));
+    }
+
+    @Benchmark
+    public Page<ClienteResponseRecordDTO> buscarPrimeiraPaginaAtivos() {
+        return clienteService.buscarClientesAtivos(paginaOrdenada);
+    }
+
+    @Benchmark
+    public Page<ClienteResponseRecordDTO> buscarPaginaProfundaAtivos() {
+        return clienteService.buscarClientesAtivos(
+                PageRequest.of(quantidadeClientes / (4 * TAMANHO_PAGINA), TAMANHO_PAGINA, Sort.by("dataNascimento")));
+    }
+
+    @Benchmark
+    public Page<ClienteResponseRecordDTO> buscarPaginaProfundaAtivosComContagemExata() {
+        return clienteService.buscarClientesAtivosComContagemExata(
+                PageRequest.of(quantidadeClientes / (4 * TAMANHO_PAGINA), TAMANHO_PAGINA, Sort.by("dataNascimento")));
+    }
+
+    @Benchmark
+    public JanelaClientesRecordDTO buscarPrimeiraJanelaAtivos() {
+        return clienteService.buscarClientesAtivosPorCursor(null, TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public JanelaClientesRecordDTO buscarJanelaProfundaAtivos() {
+        return clienteService.buscarClientesAtivosPorCursor(cursorMeio, TAMANHO_PAGINA);
+    }
+
+    private List<String> popular(ClienteRepository repository, PlatformTransactionManager transactionManager) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        var endereco = new Endereco("Avenida Paulista", "1000", "Bela Vista", "São Paulo", "SP", "01310-100");
+        var aleatorio = new Random(42);
+        List<String> cpfs = new ArrayList<>();
+        List<ClienteModel> bloco = new ArrayList<>();
+        for (int i = 0; i < quantidadeClientes; i++) {
+            var cpf = String.format("%011d", i);
+            var ativo = i % 5 != 0;
+            var cliente = new ClienteModel("Cliente " + i, LocalDate.of(1950, 1, 1).plusDays(aleatorio.nextInt(20_000)),
+                    "cliente" + i + "@teste.com", cpf, endereco);
+            cliente.setAtivo(ativo);
+            bloco.add(cliente);
+            if (ativo) {
+                cpfs.add(cpf);
+            }
+            if (bloco.size() == 500 || i == quantidadeClientes - 1) {
+                var salvar = List.copyOf(bloco);
+                transactionTemplate.executeWithoutResult(status -> repository.saveAll(salvar));
+                bloco.clear();
+            }
+        }
+        return cpfs;
+    }
+
+    private void criarContagem(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("create table contagem_clientes (ativo boolean not null, fatia smallint not null,"
+                + " total bigint not null)");
+        jdbcTemplate.update("insert into contagem_clientes select ativo, 0, count(*) from clientes group by ativo");
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = ClienteModel.class)
+    @EnableJpaRepositories(basePackageClasses = ClienteRepository.class)
+    static class ContextoLeitura {
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.cliente.benchmarks;
+
+import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.mappers.ClienteMapper;
+import com.ecommerce.cliente.models.ClienteModel;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.ecommerce.cliente.TesteDataFactory.clienteDTO;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoClienteBenchmark {
+
+    private ClienteMapper mapper;
+
+    private ClienteRecordDTO clienteDTO;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(ClienteMapper.class);
+        clienteDTO = clienteDTO().get(0);
+    }
+
+    @Benchmark
+    public ClienteModel mapearClienteComEndereco() {
+        var cliente = mapper.clienteDTOParaModel(clienteDTO);
+        cliente.setEndereco(mapper.enderecoDTOParaEndereco(clienteDTO.endereco()));
+        return cliente;
+    }
+}
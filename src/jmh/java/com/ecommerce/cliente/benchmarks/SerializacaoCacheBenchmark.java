@@ -0,0 +1,141 @@
+package com.ecommerce.cliente.benchmarks;
+
+import com.ecommerce.cliente.cache.ClienteCacheSerializer;
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecommerce.cliente.TesteDataFactory.clientesAtivosResponseDTO;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoCacheBenchmark {
+
+    private ClienteCacheSerializer binario;
+    private JdkSerializationRedisSerializer jdk;
+    private Jackson2JsonRedisSerializer<ClienteResponseRecordDTO> json;
+
+    private ClienteResponseRecordDTO cliente;
+    private Page<ClienteResponseRecordDTO> pagina;
+
+    private byte[] clienteBinario;
+    private byte[] clienteJdk;
+    private byte[] clienteJson;
+    private byte[] paginaBinario;
+    private byte[] paginaJdk;
+
+    @Setup
+    public void setUp() {
+        binario = new ClienteCacheSerializer();
+        jdk = new JdkSerializationRedisSerializer();
+        var mapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        json = new Jackson2JsonRedisSerializer<>(mapper, ClienteResponseRecordDTO.class);
+
+        cliente = clientesAtivosResponseDTO().get(0);
+        List<ClienteResponseRecordDTO> conteudo = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            var base = clientesAtivosResponseDTO().get(i % 2);
+            conteudo.add(new ClienteResponseRecordDTO(UUID.randomUUID(), base.nome(), base.dataNascimento(),
+                    i + base.email(), base.cpf(), base.endereco(), true, 0L));
+        }
+        pagina = new PageImpl<>(conteudo, PageRequest.of(0, 10, Sort.by("dataNascimento")), 1000);
+
+        clienteBinario = binario.serialize(cliente);
+        clienteJdk = jdk.serialize(cliente);
+        clienteJson = json.serialize(cliente);
+        paginaBinario = binario.serialize(pagina);
+        paginaJdk = jdk.serialize(pagina);
+    }
+
+    @Benchmark
+    public byte[] serializarClienteBinario(Payload payload) {
+        return payload.medir(binario.serialize(cliente));
+    }
+
+    @Benchmark
+    public byte[] serializarClienteJdk(Payload payload) {
+        return payload.medir(jdk.serialize(cliente));
+    }
+
+    @Benchmark
+    public byte[] serializarClienteJson(Payload payload) {
+        return payload.medir(json.serialize(cliente));
+    }
+
+    @Benchmark
+    public Object desserializarClienteBinario() {
+        return binario.deserialize(clienteBinario);
+    }
+
+    @Benchmark
+    public Object desserializarClienteJdk() {
+        return jdk.deserialize(clienteJdk);
+    }
+
+    @Benchmark
+    public Object desserializarClienteJson() {
+        return json.deserialize(clienteJson);
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaBinario(Payload payload) {
+        return payload.medir(binario.serialize(pagina));
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaJdk(Payload payload) {
+        return payload.medir(jdk.serialize(pagina));
+    }
+
+    @Benchmark
+    public Object desserializarPaginaBinario() {
+        return binario.deserialize(paginaBinario);
+    }
+
+    @Benchmark
+    public Object desserializarPaginaJdk() {
+        return jdk.deserialize(paginaJdk);
+    }
+
+    /**
+     * Tamanho em bytes do último payload serializado, publicado pelo JMH como contador ao lado do tempo.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long bytes;
+
+        byte[] medir(byte[] payload) {
+            bytes = payload.length;
+            return payload;
+        }
+    }
+}
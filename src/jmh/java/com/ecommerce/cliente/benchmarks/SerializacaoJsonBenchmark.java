@@ -0,0 +1,74 @@
+package com.ecommerce.cliente.benchmarks;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecommerce.cliente.TesteDataFactory.clientesAtivosResponseDTO;
+
+/**
+ * Custo da serialização das respostas HTTP com o mesmo {@code ObjectMapper} padrão que o Spring MVC monta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoJsonBenchmark {
+
+    @Param({"10", "100"})
+    private int tamanhoPagina;
+
+    private ObjectWriter escritorCliente;
+    private ObjectWriter escritorPagina;
+
+    private ClienteResponseRecordDTO cliente;
+    private Page<ClienteResponseRecordDTO> pagina;
+
+    @Setup
+    public void setUp() {
+        var mapper = Jackson2ObjectMapperBuilder.json().build();
+        escritorCliente = mapper.writerFor(ClienteResponseRecordDTO.class);
+        escritorPagina = mapper.writerFor(Page.class);
+
+        cliente = clientesAtivosResponseDTO().get(0);
+        List<ClienteResponseRecordDTO> conteudo = new ArrayList<>(tamanhoPagina);
+        for (int i = 0; i < tamanhoPagina; i++) {
+            var base = clientesAtivosResponseDTO().get(i % 2);
+            conteudo.add(new ClienteResponseRecordDTO(UUID.randomUUID(), base.nome(), base.dataNascimento(),
+                    i + base.email(), base.cpf(), base.endereco(), true, 0L));
+        }
+        pagina = new PageImpl<>(conteudo, PageRequest.of(0, tamanhoPagina, Sort.by("dataNascimento")), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializarCliente() throws Exception {
+        return escritorCliente.writeValueAsBytes(cliente);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws Exception {
+        return escritorPagina.writeValueAsBytes(pagina);
+    }
+}
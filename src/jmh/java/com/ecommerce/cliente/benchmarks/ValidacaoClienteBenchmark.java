@@ -0,0 +1,66 @@
+package com.ecommerce.cliente.benchmarks;
+
+import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecommerce.cliente.TesteDataFactory.clienteDTO;
+
+/**
+ * Validação completa do {@link ClienteRecordDTO} (incluindo {@code @CPF} e o endereço em cascata), como
+ * acontece em cada {@code POST /clientes} e em cada item de {@code POST /clientes/lote}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoClienteBenchmark {
+
+    private ValidatorFactory fabrica;
+    private Validator validator;
+
+    private ClienteRecordDTO clienteValido;
+    private ClienteRecordDTO clienteCpfInvalido;
+
+    @Setup
+    public void setUp() {
+        fabrica = Validation.buildDefaultValidatorFactory();
+        validator = fabrica.getValidator();
+        clienteValido = clienteDTO().get(0);
+        clienteCpfInvalido = new ClienteRecordDTO(clienteValido.nome(), clienteValido.dataNascimento(),
+                clienteValido.email(), "745.303.692-51", clienteValido.endereco());
+    }
+
+    @TearDown
+    public void tearDown() {
+        fabrica.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRecordDTO>> validarClienteValido() {
+        return validator.validate(clienteValido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClienteRecordDTO>> validarClienteCpfInvalido() {
+        return validator.validate(clienteCpfInvalido);
+    }
+}
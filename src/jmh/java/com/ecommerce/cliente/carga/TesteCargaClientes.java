@@ -0,0 +1,152 @@
+package com.ecommerce.cliente.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga fechado contra uma instância em execução da API: {@code concorrencia} clientes virtuais
+ * repetem o cenário escolhido durante {@code duracao} e, ao final, são impressos vazão e percentis de latência.
+ * Rodar o mesmo cenário contra a aplicação com e sem o perfil {@code virtual} mostra a diferença entre
+ * threads de plataforma e threads virtuais.
+ *
+ * <pre>
+ * ./mvnw -Pjmh test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ecommerce.cliente.carga.TesteCargaClientes \
+ *     -Dexec.args="http://localhost:8080 cpf 1000 60s"
+ * </pre>
+ *
+ * Cenários: {@code cpf} (busca por CPF), {@code pagina} (listagem paginada), {@code cursor} (listagem por keyset).
+ */
+public class TesteCargaClientes {
+
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws Exception {
+        var baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        var cenario = args.length > 1 ? args[1] : "cpf";
+        var concorrencia = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        var duracao = args.length > 3 ? Duration.parse("PT" + args[3].toUpperCase()) : Duration.ofSeconds(60);
+
+        var cliente = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        var cpfs = carregarCpfs(cliente, baseUrl);
+        if (cenario.equals("cpf") && cpfs.isEmpty()) {
+            throw new IllegalStateException("Nenhum cliente ativo encontrado em " + baseUrl + "/clientes");
+        }
+
+        System.out.printf("Aquecendo %s por %ds...%n", cenario, AQUECIMENTO.toSeconds());
+        executar(cliente, baseUrl, cenario, cpfs, concorrencia, AQUECIMENTO);
+        System.out.printf("Medindo %s com %d clientes concorrentes por %ds...%n",
+                cenario, concorrencia, duracao.toSeconds());
+        var resultado = executar(cliente, baseUrl, cenario, cpfs, concorrencia, duracao);
+        resultado.imprimir(duracao);
+    }
+
+    private static Resultado executar(HttpClient cliente, String baseUrl, String cenario, List<String> cpfs,
+                                      int concorrencia, Duration duracao) throws InterruptedException {
+        var fim = System.nanoTime() + duracao.toNanos();
+        var erros = new LongAdder();
+        List<long[]> latenciasPorTrabalhador = new ArrayList<>(concorrencia);
+        List<int[]> quantidadesPorTrabalhador = new ArrayList<>(concorrencia);
+
+        try (var trabalhadores = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concorrencia; i++) {
+                var latencias = new long[1 << 14];
+                var quantidade = new int[1];
+                latenciasPorTrabalhador.add(latencias);
+                quantidadesPorTrabalhador.add(quantidade);
+                trabalhadores.submit(() -> {
+                    var aleatorio = ThreadLocalRandom.current();
+                    while (System.nanoTime() < fim) {
+                        var requisicao = HttpRequest.newBuilder(URI.create(baseUrl + caminho(cenario, cpfs, aleatorio)))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        var inicio = System.nanoTime();
+                        try {
+                            var resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() >= 400) {
+                                erros.increment();
+                            }
+                        } catch (Exception exception) {
+                            erros.increment();
+                        }
+                        if (quantidade[0] < latencias.length) {
+                            latencias[quantidade[0]] = System.nanoTime() - inicio;
+                        }
+                        quantidade[0]++;
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long total = 0;
+        int totalAmostras = 0;
+        for (int i = 0; i < concorrencia; i++) {
+            var quantidade = quantidadesPorTrabalhador.get(i)[0];
+            total += quantidade;
+            totalAmostras += Math.min(quantidade, latenciasPorTrabalhador.get(i).length);
+        }
+        var amostras = new long[totalAmostras];
+        int posicao = 0;
+        for (int i = 0; i < concorrencia; i++) {
+            var quantidade = Math.min(quantidadesPorTrabalhador.get(i)[0], latenciasPorTrabalhador.get(i).length);
+            System.arraycopy(latenciasPorTrabalhador.get(i), 0, amostras, posicao, quantidade);
+            posicao += quantidade;
+        }
+        Arrays.sort(amostras);
+        return new Resultado(total, erros.sum(), amostras);
+    }
+
+    private static String caminho(String cenario, List<String> cpfs, ThreadLocalRandom aleatorio) {
+        return switch (cenario) {
+            case "cpf" -> "/clientes/" + cpfs.get(aleatorio.nextInt(cpfs.size()));
+            case "pagina" -> "/clientes?page=" + aleatorio.nextInt(50) + "&size=20&sort=dataNascimento";
+            case "cursor" -> "/clientes/cursor?tamanho=20";
+            default -> throw new IllegalArgumentException("Cenário desconhecido: " + cenario);
+        };
+    }
+
+    private static List<String> carregarCpfs(HttpClient cliente, String baseUrl) throws Exception {
+        var requisicao = HttpRequest.newBuilder(URI.create(baseUrl + "/clientes?size=1000")).GET().build();
+        var resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        List<String> cpfs = new ArrayList<>();
+        if (resposta.statusCode() == 200) {
+            new ObjectMapper().readTree(resposta.body()).path("content")
+                    .forEach(clienteJson -> cpfs.add(clienteJson.path("cpf").asText()));
+        }
+        return cpfs;
+    }
+
+    private record Resultado(long requisicoes, long erros, long[] latencias) {
+
+        void imprimir(Duration duracao) {
+            System.out.printf("Requisições: %d (erros: %d)%n", requisicoes, erros);
+            System.out.printf("Vazão: %.1f req/s%n", requisicoes / (double) duracao.toSeconds());
+            if (latencias.length > 0) {
+                System.out.printf("Latência (ms): p50=%.2f p95=%.2f p99=%.2f máx=%.2f%n",
+                        percentil(0.50), percentil(0.95), percentil(0.99),
+                        latencias[latencias.length - 1] / 1_000_000.0);
+            }
+        }
+
+        private double percentil(double fracao) {
+            var indice = (int) Math.min(latencias.length - 1, Math.ceil(fracao * latencias.length) - 1);
+            return latencias[Math.max(indice, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -3,9 +3,16 @@ package com.ecommerce.cliente;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+/**
+ * O interceptador de cache tem precedência sobre os demais proxies do serviço, como {@code @Transactional} e
+ * {@code @Timed}: um acerto de cache não abre transação nem conta no timer do método.
+ */
 @SpringBootApplication
-@EnableCaching
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableScheduling
 public class ClienteApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,136 @@
+package com.ecommerce.cliente.aquecimento;
+
+import com.ecommerce.cliente.cache.CpfsQuentes;
+import com.ecommerce.cliente.services.ClienteService;
+import com.ecommerce.cliente.services.JsonProntoClienteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aquece o cache na subida, antes de a instância ficar pronta: carrega as primeiras páginas das listagens de
+ * ativos, com a mesma ordenação padrão do controlador para as chaves baterem, e os CPFs mais acessados
+ * registrados pelo {@link CpfsQuentes}. Os carregamentos passam pelos serviços, então preenchem a L1 e a L2. Como
+ * roda num {@link ApplicationRunner}, a readiness só passa a aceitar tráfego quando ele termina ou estoura o
+ * tempo máximo; falhas individuais só entram na contagem do log.
+ */
+@Component
+public class AquecimentoCache implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoCache.class);
+
+    static final Sort ORDENACAO_PADRAO = Sort.by(Sort.Direction.ASC, "dataNascimento");
+
+    static final int TAMANHO_PAGINA_PADRAO = 10;
+
+    private final ClienteService clienteService;
+
+    private final JsonProntoClienteService jsonProntoClienteService;
+
+    private final CpfsQuentes cpfsQuentes;
+
+    private final boolean habilitado;
+
+    private final int paginas;
+
+    private final int cpfs;
+
+    private final int concorrencia;
+
+    private final Duration tempoMaximo;
+
+    public AquecimentoCache(ClienteService clienteService, JsonProntoClienteService jsonProntoClienteService,
+                            CpfsQuentes cpfsQuentes,
+                            @Value("${clientes.cache.aquecimento.habilitado}") boolean habilitado,
+                            @Value("${clientes.cache.aquecimento.paginas}") int paginas,
+                            @Value("${clientes.cache.aquecimento.cpfs}") int cpfs,
+                            @Value("${clientes.cache.aquecimento.concorrencia}") int concorrencia,
+                            @Value("${clientes.cache.aquecimento.tempo-maximo}") Duration tempoMaximo) {
+        this.clienteService = clienteService;
+        this.jsonProntoClienteService = jsonProntoClienteService;
+        this.cpfsQuentes = cpfsQuentes;
+        this.habilitado = habilitado;
+        this.paginas = paginas;
+        this.cpfs = cpfs;
+        this.concorrencia = Math.max(1, concorrencia);
+        this.tempoMaximo = tempoMaximo;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (habilitado) {
+            aquecer();
+        }
+    }
+
+    public void aquecer() throws InterruptedException {
+        var tarefas = tarefas();
+        if (tarefas.isEmpty()) {
+            return;
+        }
+        var inicio = System.nanoTime();
+        var falhas = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(concorrencia,
+                Thread.ofVirtual().name("cache-aquecimento-", 0).factory());
+        try {
+            for (var tarefa : tarefas) {
+                executor.execute(() -> {
+                    try {
+                        tarefa.run();
+                    } catch (RuntimeException exception) {
+                        falhas.incrementAndGet();
+                        log.debug("Falha ao aquecer o cache", exception);
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(tempoMaximo.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Aquecimento do cache interrompido após {}", tempoMaximo);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Cache aquecido em {} ms: {} carregamentos, {} falhas",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), tarefas.size(), falhas.get());
+    }
+
+    List<Runnable> tarefas() {
+        List<Runnable> tarefas = new ArrayList<>();
+        for (int pagina = 0; pagina < paginas; pagina++) {
+            var paginado = PageRequest.of(pagina, TAMANHO_PAGINA_PADRAO, ORDENACAO_PADRAO);
+            tarefas.add(() -> clienteService.buscarClientesAtivos(paginado));
+        }
+        for (var ativo : List.of(true, false)) {
+            for (var cpf : cpfsQuentes.maisAcessados(ativo, cpfs)) {
+                tarefas.add(() -> buscarPorCpf(ativo, cpf));
+            }
+        }
+        return tarefas;
+    }
+
+    private void buscarPorCpf(boolean ativo, String cpf) {
+        if (jsonProntoClienteService.isHabilitado()) {
+            if (ativo) {
+                jsonProntoClienteService.buscarClienteAtivoPorCpf(cpf);
+            } else {
+                jsonProntoClienteService.buscarClienteInativoPorCpf(cpf);
+            }
+        } else if (ativo) {
+            clienteService.buscarClienteAtivoPorCpf(cpf);
+        } else {
+            clienteService.buscarClienteInativoPorCpf(cpf);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.cliente.atualizacao;
+
+import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * Aplica um JSON Merge Patch (RFC 7386) sobre os dados atuais do cliente: campos ausentes no patch ficam
+ * como estão, objetos são mesclados recursivamente e {@code null} remove o valor. O resultado passa pelas
+ * mesmas validações do {@link ClienteRecordDTO} usadas no PUT, e campos que não existem nele, como
+ * {@code id} e {@code ativo}, são recusados.
+ */
+@Component
+public class MergePatchClientes {
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    public MergePatchClientes(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    public ClienteRecordDTO aplicar(ClienteRecordDTO atual, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("O merge patch deve ser um objeto JSON!");
+        }
+        ObjectNode alvo = objectMapper.valueToTree(atual);
+        patch.fieldNames().forEachRemaining(campo -> {
+            if (!alvo.has(campo)) {
+                throw new BadRequestException("Campo '" + campo + "' não pode ser alterado!");
+            }
+        });
+        mesclar(alvo, patch);
+
+        ClienteRecordDTO resultado;
+        try {
+            resultado = objectMapper.treeToValue(alvo, ClienteRecordDTO.class);
+        } catch (JsonProcessingException exception) {
+            throw new BadRequestException("Merge patch inválido: " + exception.getOriginalMessage());
+        }
+        var violacoes = validator.validate(resultado);
+        if (!violacoes.isEmpty()) {
+            throw new BadRequestException(violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(" ")));
+        }
+        return resultado;
+    }
+
+    private static void mesclar(ObjectNode alvo, JsonNode patch) {
+        patch.fields().forEachRemaining(campo -> {
+            var valor = campo.getValue();
+            var atual = alvo.get(campo.getKey());
+            if (valor.isObject() && atual != null && atual.isObject()) {
+                mesclar((ObjectNode) atual, valor);
+            } else if (valor.isObject()) {
+                var novo = alvo.putObject(campo.getKey());
+                mesclar(novo, valor);
+            } else {
+                alvo.set(campo.getKey(), valor);
+            }
+        });
+    }
+}
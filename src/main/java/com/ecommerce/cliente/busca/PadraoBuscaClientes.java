@@ -0,0 +1,54 @@
+package com.ecommerce.cliente.busca;
+
+import com.ecommerce.cliente.exceptions.BadRequestException;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Converte o termo digitado nos padrões LIKE comparados com {@code busca_clientes(...)}: sem acentos, em
+ * minúsculas e um padrão {@code %termo%} por palavra, sem repetições. Cada palavra casa com qualquer trecho do
+ * nome, e-mail, cidade, bairro ou CEP, inclusive prefixos, em qualquer ordem. O índice de trigramas só
+ * restringe a busca com pelo menos um termo de 3 caracteres; sem isso a consulta leria a tabela inteira.
+ */
+public final class PadraoBuscaClientes {
+
+    static final int TAMANHO_MINIMO_TERMO = 3;
+
+    static final int TAMANHO_MAXIMO = 100;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private PadraoBuscaClientes() {
+    }
+
+    public static List<String> de(String termo) {
+        if (termo == null || termo.isBlank()) {
+            throw new BadRequestException("Campo 'termo' é obrigatório!");
+        }
+        if (termo.length() > TAMANHO_MAXIMO) {
+            throw new BadRequestException("Campo 'termo' deve ter no máximo " + TAMANHO_MAXIMO + " caracteres!");
+        }
+        var normalizado = ACENTOS.matcher(Normalizer.normalize(termo, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .strip();
+        var termos = ESPACOS.split(normalizado);
+        if (Arrays.stream(termos).noneMatch(parte -> parte.length() >= TAMANHO_MINIMO_TERMO)) {
+            throw new BadRequestException("Campo 'termo' deve ter ao menos uma palavra com "
+                    + TAMANHO_MINIMO_TERMO + " caracteres!");
+        }
+        return Arrays.stream(termos)
+                .distinct()
+                .map(parte -> "%" + escapar(parte) + "%")
+                .toList();
+    }
+
+    private static String escapar(String parte) {
+        return parte.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,446 @@
+package com.ecommerce.cliente.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache composto por uma camada local (Caffeine, L1) na frente do Redis (L2).
+ * Leituras consultam primeiro a L1; escritas e remoções passam pelas duas camadas
+ * e as remoções são propagadas para as L1 das demais instâncias.
+ * <p>
+ * No {@link #get(Object, Callable)}, usado pelo {@code @Cacheable(sync = true)}, cada chave tem no máximo um
+ * carregamento em andamento por instância, e entre instâncias uma trava curta no Redis faz as demais esperarem
+ * o valor aparecer na L2 em vez de repetirem a consulta. Perto da expiração a L1 renova a chave em segundo
+ * plano com probabilidade crescente (XFetch), e depois dela ainda entrega o valor antigo por uma janela curta
+ * enquanto a renovação roda. Remoções e limpezas descartam a entrada na hora, sem janela de valor antigo.
+ */
+public class CacheDuasCamadas implements Cache {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheDuasCamadas.class);
+
+    private final String nome;
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, EntradaLocal> local;
+
+    private final Cache remoto;
+
+    private final PublicadorInvalidacaoCache publicador;
+
+    private final ObservationRegistry observacoes;
+
+    private final PoliticaCarregamento politica;
+
+    private final long expiracaoL1Nanos;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> carregamentos = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, LeiturasChave> leituras = new ConcurrentHashMap<>();
+
+    private final AtomicLong limpezas = new AtomicLong();
+
+    private final Counter acertosL1;
+    private final Counter faltasL1;
+    private final Counter acertosL2;
+    private final Counter faltasL2;
+    private final Counter coalescidos;
+    private final Counter renovacoesAntecipadas;
+    private final Counter obsoletosEntregues;
+    private final Counter travasOcupadas;
+
+    public CacheDuasCamadas(String nome, com.github.benmanes.caffeine.cache.Cache<String, EntradaLocal> local,
+                            Cache remoto, PublicadorInvalidacaoCache publicador, MeterRegistry registry,
+                            ObservationRegistry observacoes, PoliticaCarregamento politica) {
+        this.nome = nome;
+        this.local = local;
+        this.remoto = remoto;
+        this.publicador = publicador;
+        this.observacoes = observacoes;
+        this.politica = politica;
+        this.expiracaoL1Nanos = politica.expiracaoL1().toNanos();
+        this.acertosL1 = contador(registry, "l1", "acerto");
+        this.faltasL1 = contador(registry, "l1", "falta");
+        this.acertosL2 = contador(registry, "l2", "acerto");
+        this.faltasL2 = contador(registry, "l2", "falta");
+        this.coalescidos = contadorCarregamento(registry, "coalescido");
+        this.renovacoesAntecipadas = contadorCarregamento(registry, "renovacao-antecipada");
+        this.obsoletosEntregues = contadorCarregamento(registry, "obsoleto");
+        this.travasOcupadas = contadorCarregamento(registry, "trava-ocupada");
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var chave = chaveLocal(key);
+        var entrada = lerLocal(chave);
+        if (entrada != null && !entrada.expirada(System.nanoTime())) {
+            acertosL1.increment();
+            return entrada;
+        }
+        faltasL1.increment();
+
+        var leitura = iniciarLeitura(chave);
+        try {
+            var inicio = System.nanoTime();
+            var valorRemoto = lerRemoto(key);
+            if (valorRemoto != null) {
+                guardarLocal(chave, valorRemoto.get(), System.nanoTime() - inicio, leitura);
+            }
+            return valorRemoto;
+        } finally {
+            encerrarLeitura(chave);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var valor = get(key);
+        if (valor == null) {
+            return null;
+        }
+        var conteudo = valor.get();
+        if (conteudo != null && type != null && !type.isInstance(conteudo)) {
+            throw new IllegalStateException("Valor em cache para a chave " + key
+                    + " não é do tipo " + type.getName());
+        }
+        return (T) conteudo;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var chave = chaveLocal(key);
+        var entrada = lerLocal(chave);
+        if (entrada != null) {
+            var agora = System.nanoTime();
+            if (entrada.expirada(agora)) {
+                obsoletosEntregues.increment();
+                renovarEmSegundoPlano(key, chave, valueLoader);
+            } else {
+                acertosL1.increment();
+                if (entrada.renovarAntes(agora, politica.beta())) {
+                    renovacoesAntecipadas.increment();
+                    renovarEmSegundoPlano(key, chave, valueLoader);
+                }
+            }
+            return (T) entrada.get();
+        }
+        faltasL1.increment();
+
+        try {
+            return (T) carregarUmaVez(key, chave, valueLoader);
+        } catch (Exception exception) {
+            throw new ValueRetrievalException(key, valueLoader, exception);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        observacao("escrita").observe(() -> {
+            remoto.put(key, value);
+            local.put(chaveLocal(key), new EntradaLocal(value, System.nanoTime() + expiracaoL1Nanos, 0));
+        });
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoto.evict(key);
+        var chave = chaveLocal(key);
+        removerLocal(chave);
+        publicador.publicarRemocao(nome, chave);
+    }
+
+    @Override
+    public void clear() {
+        remoto.clear();
+        limparLocal();
+        publicador.publicarLimpeza(nome);
+    }
+
+    /**
+     * Marca a remoção para as leituras em andamento da chave antes de tirá-la da L1: a que guardar depois da
+     * marca descarta o valor, e a que guardou antes tem a entrada removida logo em seguida.
+     */
+    void removerLocal(String chave) {
+        leituras.computeIfPresent(chave, (k, leiturasChave) -> {
+            leiturasChave.remocoes++;
+            return leiturasChave;
+        });
+        local.invalidate(chave);
+    }
+
+    void limparLocal() {
+        limpezas.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    /**
+     * Single-flight da instância: quem chega com um carregamento da mesma chave em andamento espera o resultado
+     * dele em vez de disparar outra consulta.
+     */
+    private Object carregarUmaVez(Object key, String chave, Callable<?> loader) throws Exception {
+        var carregamento = new CompletableFuture<>();
+        var emAndamento = carregamentos.putIfAbsent(chave, carregamento);
+        if (emAndamento != null) {
+            coalescidos.increment();
+            return aguardar(emAndamento);
+        }
+        try {
+            var valor = carregarEntreInstancias(key, chave, loader);
+            carregamento.complete(valor);
+            return valor;
+        } catch (Throwable exception) {
+            carregamento.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            carregamentos.remove(chave, carregamento);
+        }
+    }
+
+    /**
+     * Consulta a L2 antes de carregar, porque outra instância pode já ter feito o trabalho. Na falta, só quem
+     * adquire a trava chama o loader; as demais esperam o valor na L2 e tentam a trava de novo a cada volta,
+     * para assumir o carregamento assim que ela for liberada sem valor (loader que falhou ou valor descartado).
+     * Se a trava expirar sem nenhum dos dois, carregam por conta própria. Se a chave foi removida durante o
+     * carregamento o valor é devolvido a quem pediu, mas não é guardado, para não ressuscitar um dado já
+     * invalidado.
+     */
+    private Object carregarEntreInstancias(Object key, String chave, Callable<?> loader) throws Exception {
+        var leitura = iniciarLeitura(chave);
+        try {
+            var inicio = System.nanoTime();
+            var valorRemoto = lerRemoto(key);
+            if (valorRemoto != null) {
+                guardarLocal(chave, valorRemoto.get(), System.nanoTime() - inicio, leitura);
+                return valorRemoto.get();
+            }
+
+            var trava = politica.trava();
+            var token = trava.adquirir(nome, chave);
+            if (token == null) {
+                travasOcupadas.increment();
+                var limite = System.nanoTime() + trava.getDuracao().toNanos();
+                while (token == null && System.nanoTime() < limite) {
+                    Thread.sleep(politica.intervaloEspera());
+                    var carregadoPorOutra = remoto.get(key);
+                    if (carregadoPorOutra != null) {
+                        acertosL2.increment();
+                        guardarLocal(chave, carregadoPorOutra.get(), System.nanoTime() - inicio, leitura);
+                        return carregadoPorOutra.get();
+                    }
+                    token = trava.adquirir(nome, chave);
+                }
+            }
+            try {
+                var valor = loader.call();
+                var custo = System.nanoTime() - inicio;
+                if (!invalidada(leitura)) {
+                    observacao("escrita").observe(() -> remoto.put(key, valor));
+                    guardarLocal(chave, valor, custo, leitura);
+                }
+                return valor;
+            } finally {
+                if (token != null) {
+                    trava.liberar(nome, chave, token);
+                }
+            }
+        } finally {
+            encerrarLeitura(chave);
+        }
+    }
+
+    /**
+     * Registra uma leitura da chave antes de ela consultar a L2. Só chaves com leituras em andamento acompanham
+     * as remoções, então o mapa não cresce com chaves que ninguém está carregando.
+     */
+    private InicioLeitura iniciarLeitura(String chave) {
+        var limpezasIniciais = limpezas.get();
+        var leiturasChave = leituras.compute(chave, (k, atual) -> {
+            var registradas = atual == null ? new LeiturasChave() : atual;
+            registradas.emAndamento++;
+            return registradas;
+        });
+        return new InicioLeitura(leiturasChave, leiturasChave.remocoes, limpezasIniciais);
+    }
+
+    private void encerrarLeitura(String chave) {
+        leituras.computeIfPresent(chave, (k, leiturasChave) ->
+                --leiturasChave.emAndamento == 0 ? null : leiturasChave);
+    }
+
+    private boolean invalidada(InicioLeitura leitura) {
+        return leitura.leiturasChave().remocoes != leitura.remocoes() || limpezas.get() != leitura.limpezas();
+    }
+
+    private void renovarEmSegundoPlano(Object key, String chave, Callable<?> loader) {
+        if (carregamentos.containsKey(chave)) {
+            return;
+        }
+        try {
+            politica.renovador().execute(() -> {
+                try {
+                    carregarUmaVez(key, chave, loader);
+                } catch (Exception exception) {
+                    log.debug("Falha ao renovar a chave {} do cache {}", chave, nome, exception);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            log.debug("Renovação da chave {} do cache {} recusada", chave, nome, exception);
+        }
+    }
+
+    private static Object aguardar(CompletableFuture<Object> carregamento) throws Exception {
+        try {
+            return carregamento.get();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof Exception causa) {
+                throw causa;
+            }
+            if (exception.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw exception;
+        }
+    }
+
+    private EntradaLocal lerLocal(String chave) {
+        var observacao = observacao("leitura").start();
+        try (var escopo = observacao.openScope()) {
+            var entrada = local.getIfPresent(chave);
+            observacao.lowCardinalityKeyValue("resultado", entrada == null ? "falta-l1"
+                    : entrada.expirada(System.nanoTime()) ? "obsoleto-l1" : "acerto-l1");
+            return entrada;
+        } finally {
+            observacao.stop();
+        }
+    }
+
+    private ValueWrapper lerRemoto(Object key) {
+        var observacao = observacao("leitura").start();
+        try (var escopo = observacao.openScope()) {
+            var valor = remoto.get(key);
+            if (valor == null) {
+                faltasL2.increment();
+                observacao.lowCardinalityKeyValue("resultado", "falta");
+            } else {
+                acertosL2.increment();
+                observacao.lowCardinalityKeyValue("resultado", "acerto-l2");
+            }
+            return valor;
+        } catch (RuntimeException exception) {
+            observacao.error(exception);
+            throw exception;
+        } finally {
+            observacao.stop();
+        }
+    }
+
+    /**
+     * Guarda na L1 se a chave não foi removida desde o início da leitura. A conferência é refeita depois de
+     * guardar porque a remoção pode ter acontecido entre as duas coisas.
+     */
+    private void guardarLocal(String chave, Object valor, long custoNanos, InicioLeitura leitura) {
+        if (invalidada(leitura)) {
+            return;
+        }
+        var entrada = new EntradaLocal(valor, System.nanoTime() + expiracaoL1Nanos, custoNanos);
+        local.put(chave, entrada);
+        if (invalidada(leitura)) {
+            local.asMap().remove(chave, entrada);
+        }
+    }
+
+    private static String chaveLocal(Object key) {
+        return String.valueOf(key);
+    }
+
+    /**
+     * Observação de cada leitura e escrita, que aparece como span no trace da requisição. A leitura recebe a
+     * tag {@code resultado} para o span mostrar em qual camada o valor foi encontrado.
+     */
+    private Observation observacao(String operacao) {
+        return Observation.createNotStarted("clientes.cache", observacoes)
+                .contextualName("cache " + operacao + " " + nome)
+                .lowCardinalityKeyValue("cache", nome)
+                .lowCardinalityKeyValue("operacao", operacao);
+    }
+
+    private Counter contador(MeterRegistry registry, String camada, String resultado) {
+        return Counter.builder("cache.camadas.acessos")
+                .description("Acessos ao cache por camada e resultado")
+                .tag("cache", nome)
+                .tag("camada", camada)
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private Counter contadorCarregamento(MeterRegistry registry, String evento) {
+        return Counter.builder("cache.camadas.carregamentos")
+                .description("Carregamentos coalescidos, renovações e esperas pela trava entre instâncias")
+                .tag("cache", nome)
+                .tag("evento", evento)
+                .register(registry);
+    }
+
+    /**
+     * Leituras em andamento de uma chave e quantas remoções ela sofreu enquanto havia alguma. O contador de
+     * leituras só muda dentro do {@code compute} do mapa.
+     */
+    private static final class LeiturasChave {
+
+        private int emAndamento;
+
+        private volatile long remocoes;
+    }
+
+    private record InicioLeitura(LeiturasChave leiturasChave, long remocoes, long limpezas) {
+    }
+
+    /**
+     * Valor da L1 com a expiração lógica e o custo em nanossegundos de obtê-lo. A Caffeine guarda a entrada um
+     * pouco além da expiração lógica, pelo tempo da janela de valor antigo.
+     */
+    record EntradaLocal(Object valor, long expiraEm, long custoNanos) implements ValueWrapper {
+
+        @Override
+        public Object get() {
+            return valor;
+        }
+
+        boolean expirada(long agora) {
+            return agora - expiraEm >= 0;
+        }
+
+        /**
+         * XFetch: renova antes da expiração com probabilidade que cresce à medida que ela se aproxima, e mais
+         * cedo quanto mais caro foi obter o valor.
+         */
+        boolean renovarAntes(long agora, double beta) {
+            var antecipacao = custoNanos * beta * -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+            return agora + (long) antecipacao - expiraEm >= 0;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.cliente.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.Method;
+import java.util.stream.Collectors;
+
+/**
+ * Gera chaves estruturadas para as regiões de clientes, sempre prefixadas pelo status:
+ * {@code ativos:745.303.692-50} para buscas por CPF e
+ * {@code ativos:v3:p0:s10:dataNascimento-ASC} para páginas, onde {@code v3} é a versão atual
+ * do namespace de páginas daquele status.
+ */
+public class ChaveCacheClientes implements KeyGenerator {
+
+    private final boolean ativo;
+
+    private final VersaoPaginasCache versaoPaginas;
+
+    public ChaveCacheClientes(boolean ativo, VersaoPaginasCache versaoPaginas) {
+        this.ativo = ativo;
+        this.versaoPaginas = versaoPaginas;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        if (params.length == 1 && params[0] instanceof Pageable paginado) {
+            var namespace = VersaoPaginasCache.namespace(ativo);
+            return chavePagina(ativo, versaoPaginas.atual(namespace), paginado);
+        }
+        if (params.length == 1 && params[0] instanceof String cpf) {
+            return chaveCpf(ativo, cpf);
+        }
+        throw new IllegalArgumentException("Parâmetros não suportados para a chave de cache do método "
+                + method.getName());
+    }
+
+    public static String chaveCpf(boolean ativo, String cpf) {
+        return VersaoPaginasCache.namespace(ativo) + ":" + cpf;
+    }
+
+    public static String chavePagina(boolean ativo, long versao, Pageable paginado) {
+        return VersaoPaginasCache.namespace(ativo)
+                + ":v" + versao
+                + ":p" + (paginado.isPaged() ? paginado.getPageNumber() : "todas")
+                + ":s" + (paginado.isPaged() ? paginado.getPageSize() : "todas")
+                + ":" + ordenacao(paginado.getSort());
+    }
+
+    private static String ordenacao(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "sem-ordem";
+        }
+        return sort.stream()
+                .map(ordem -> ordem.getProperty() + "-" + ordem.getDirection()
+                        + (ordem.isIgnoreCase() ? "-ic" : "")
+                        + (ordem.getNullHandling() != Sort.NullHandling.NATIVE ? "-" + ordem.getNullHandling() : ""))
+                .collect(Collectors.joining(","));
+    }
+}
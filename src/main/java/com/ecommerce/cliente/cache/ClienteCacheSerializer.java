@@ -0,0 +1,244 @@
+package com.ecommerce.cliente.cache;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.ecommerce.cliente.dtos.EnderecoRecordDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serializador binário e versionado dos valores em cache de clientes. Cada payload começa com
+ * um byte mágico e a versão do esquema; payloads de outro formato (por exemplo, entradas antigas
+ * gravadas com serialização Java) ou de outra versão são descartados como falta de cache em vez
+ * de falharem, e são regravados no formato atual na próxima leitura.
+ */
+public class ClienteCacheSerializer implements RedisSerializer<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteCacheSerializer.class);
+
+    static final byte MAGICO = (byte) 0xC1;
+    static final byte VERSAO_ESQUEMA = 4;
+
+    private static final byte TIPO_CLIENTE = 1;
+    private static final byte TIPO_PAGINA = 2;
+    private static final byte TIPO_JSON = 3;
+    private static final byte TIPO_AUSENTE = 4;
+
+    @Override
+    public byte[] serialize(Object valor) throws SerializationException {
+        if (valor == null) {
+            return null;
+        }
+        var bytes = new ByteArrayOutputStream(256);
+        try (var saida = new DataOutputStream(bytes)) {
+            saida.writeByte(MAGICO);
+            saida.writeByte(VERSAO_ESQUEMA);
+            if (valor instanceof ClienteResponseRecordDTO cliente) {
+                saida.writeByte(TIPO_CLIENTE);
+                escreverCliente(saida, cliente);
+            } else if (valor instanceof Page<?> pagina) {
+                saida.writeByte(TIPO_PAGINA);
+                escreverPagina(saida, pagina);
+            } else if (valor instanceof JsonClientePronto json) {
+                saida.writeByte(TIPO_JSON);
+                escreverJson(saida, json);
+            } else if (valor == CpfsAusentes.Marcador.AUSENTE) {
+                saida.writeByte(TIPO_AUSENTE);
+            } else {
+                throw new SerializationException("Tipo não suportado no cache de clientes: "
+                        + valor.getClass().getName());
+            }
+        } catch (IOException exception) {
+            throw new SerializationException("Falha ao serializar valor do cache de clientes", exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 3) {
+            return null;
+        }
+        if (bytes[0] != MAGICO || bytes[1] != VERSAO_ESQUEMA) {
+            log.debug("Descartando entrada de cache em formato desconhecido (cabeçalho {} {})", bytes[0], bytes[1]);
+            return null;
+        }
+        try (var entrada = new DataInputStream(new ByteArrayInputStream(bytes, 3, bytes.length - 3))) {
+            return switch (bytes[2]) {
+                case TIPO_CLIENTE -> lerCliente(entrada);
+                case TIPO_PAGINA -> lerPagina(entrada);
+                case TIPO_JSON -> lerJson(entrada);
+                case TIPO_AUSENTE -> CpfsAusentes.Marcador.AUSENTE;
+                default -> null;
+            };
+        } catch (IOException | RuntimeException exception) {
+            log.debug("Descartando entrada de cache corrompida", exception);
+            return null;
+        }
+    }
+
+    private void escreverPagina(DataOutputStream saida, Page<?> pagina) throws IOException {
+        var paginado = pagina.getPageable();
+        saida.writeBoolean(paginado.isPaged());
+        if (paginado.isPaged()) {
+            saida.writeInt(paginado.getPageNumber());
+            saida.writeInt(paginado.getPageSize());
+        }
+        escreverOrdenacao(saida, pagina.getSort());
+        saida.writeLong(pagina.getTotalElements());
+        saida.writeInt(pagina.getNumberOfElements());
+        for (var item : pagina.getContent()) {
+            if (!(item instanceof ClienteResponseRecordDTO cliente)) {
+                throw new SerializationException("Página com conteúdo não suportado: " + item.getClass().getName());
+            }
+            escreverCliente(saida, cliente);
+        }
+    }
+
+    private Page<ClienteResponseRecordDTO> lerPagina(DataInputStream entrada) throws IOException {
+        var paginada = entrada.readBoolean();
+        var numero = paginada ? entrada.readInt() : 0;
+        var tamanho = paginada ? entrada.readInt() : 0;
+        var ordenacao = lerOrdenacao(entrada);
+        Pageable paginado = paginada ? PageRequest.of(numero, tamanho, ordenacao) : Pageable.unpaged(ordenacao);
+        var total = entrada.readLong();
+        var quantidade = entrada.readInt();
+        List<ClienteResponseRecordDTO> conteudo = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            conteudo.add(lerCliente(entrada));
+        }
+        return new PageImpl<>(conteudo, paginado, total);
+    }
+
+    private void escreverOrdenacao(DataOutputStream saida, Sort ordenacao) throws IOException {
+        var ordens = ordenacao.toList();
+        saida.writeShort(ordens.size());
+        for (var ordem : ordens) {
+            saida.writeUTF(ordem.getProperty());
+            saida.writeBoolean(ordem.isAscending());
+            saida.writeBoolean(ordem.isIgnoreCase());
+            saida.writeByte(ordem.getNullHandling().ordinal());
+        }
+    }
+
+    private Sort lerOrdenacao(DataInputStream entrada) throws IOException {
+        int quantidade = entrada.readShort();
+        if (quantidade == 0) {
+            return Sort.unsorted();
+        }
+        List<Sort.Order> ordens = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            var propriedade = entrada.readUTF();
+            var direcao = entrada.readBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC;
+            var ordem = new Sort.Order(direcao, propriedade);
+            if (entrada.readBoolean()) {
+                ordem = ordem.ignoreCase();
+            }
+            ordens.add(ordem.with(Sort.NullHandling.values()[entrada.readByte()]));
+        }
+        return Sort.by(ordens);
+    }
+
+    private void escreverCliente(DataOutputStream saida, ClienteResponseRecordDTO cliente) throws IOException {
+        escreverId(saida, cliente.id());
+        escreverTexto(saida, cliente.nome());
+        var dataNascimento = cliente.dataNascimento();
+        saida.writeBoolean(dataNascimento != null);
+        if (dataNascimento != null) {
+            saida.writeInt((int) dataNascimento.toEpochDay());
+        }
+        escreverTexto(saida, cliente.email());
+        escreverTexto(saida, cliente.cpf());
+        var endereco = cliente.endereco();
+        saida.writeBoolean(endereco != null);
+        if (endereco != null) {
+            escreverTexto(saida, endereco.logradouro());
+            escreverTexto(saida, endereco.numero());
+            escreverTexto(saida, endereco.bairro());
+            escreverTexto(saida, endereco.cidade());
+            escreverTexto(saida, endereco.estado());
+            escreverTexto(saida, endereco.cep());
+        }
+        saida.writeBoolean(cliente.ativo());
+        var versao = cliente.versao();
+        saida.writeBoolean(versao != null);
+        if (versao != null) {
+            saida.writeLong(versao);
+        }
+    }
+
+    private ClienteResponseRecordDTO lerCliente(DataInputStream entrada) throws IOException {
+        var id = lerId(entrada);
+        var nome = lerTexto(entrada);
+        var dataNascimento = entrada.readBoolean() ? LocalDate.ofEpochDay(entrada.readInt()) : null;
+        var email = lerTexto(entrada);
+        var cpf = lerTexto(entrada);
+        EnderecoRecordDTO endereco = null;
+        if (entrada.readBoolean()) {
+            endereco = new EnderecoRecordDTO(lerTexto(entrada), lerTexto(entrada), lerTexto(entrada),
+                    lerTexto(entrada), lerTexto(entrada), lerTexto(entrada));
+        }
+        var ativo = entrada.readBoolean();
+        var versao = entrada.readBoolean() ? entrada.readLong() : null;
+        return new ClienteResponseRecordDTO(id, nome, dataNascimento, email, cpf, endereco, ativo, versao);
+    }
+
+    private void escreverJson(DataOutputStream saida, JsonClientePronto json) throws IOException {
+        escreverId(saida, json.id());
+        saida.writeBoolean(json.versao() != null);
+        if (json.versao() != null) {
+            saida.writeLong(json.versao());
+        }
+        saida.writeBoolean(json.gzip());
+        saida.writeInt(json.conteudo().length);
+        saida.write(json.conteudo());
+    }
+
+    private JsonClientePronto lerJson(DataInputStream entrada) throws IOException {
+        var id = lerId(entrada);
+        var versao = entrada.readBoolean() ? entrada.readLong() : null;
+        var gzip = entrada.readBoolean();
+        var conteudo = new byte[entrada.readInt()];
+        entrada.readFully(conteudo);
+        return new JsonClientePronto(id, versao, gzip, conteudo);
+    }
+
+    private void escreverId(DataOutputStream saida, UUID id) throws IOException {
+        saida.writeBoolean(id != null);
+        if (id != null) {
+            saida.writeLong(id.getMostSignificantBits());
+            saida.writeLong(id.getLeastSignificantBits());
+        }
+    }
+
+    private UUID lerId(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? new UUID(entrada.readLong(), entrada.readLong()) : null;
+    }
+
+    private void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        saida.writeBoolean(texto != null);
+        if (texto != null) {
+            saida.writeUTF(texto);
+        }
+    }
+
+    private String lerTexto(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.cliente.cache;
+
+import com.ecommerce.cliente.exceptions.ResourceNotFoundException;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache negativo das buscas por CPF. Um CPF que não foi encontrado fica registrado por um TTL curto nas regiões
+ * {@code clientes-*-cpf-ausente}, e as buscas seguintes respondem 404 sem passar pelo cache de clientes nem pelo
+ * banco. As entradas são removidas pelo {@link InvalidadorCacheClientes} quando o CPF é criado ou muda de status;
+ * uma busca que correr junto com a criação pode deixar uma ausência antiga, que dura no máximo o TTL.
+ */
+@Component
+public class CpfsAusentes {
+
+    private final CacheManager cacheManager;
+
+    public CpfsAusentes(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public static ResourceNotFoundException naoEncontrado(String cpf) {
+        return ResourceNotFoundException.semRastreamento("Cliente com o CPF " + cpf + " não foi encontrado.");
+    }
+
+    /**
+     * Lança o mesmo 404 da busca se o CPF estiver registrado como ausente no status pedido.
+     */
+    public void conferir(boolean ativo, String cpf) {
+        var cache = cacheManager.getCache(RegioesCache.cpfAusente(ativo));
+        if (cache != null && cache.get(ChaveCacheClientes.chaveCpf(ativo, cpf)) != null) {
+            throw naoEncontrado(cpf);
+        }
+    }
+
+    public void registrar(boolean ativo, String cpf) {
+        var cache = cacheManager.getCache(RegioesCache.cpfAusente(ativo));
+        if (cache != null) {
+            cache.put(ChaveCacheClientes.chaveCpf(ativo, cpf), Marcador.AUSENTE);
+        }
+    }
+
+    /**
+     * Valor guardado no lugar do cliente; só a presença da chave importa.
+     */
+    public enum Marcador {
+        AUSENTE
+    }
+}
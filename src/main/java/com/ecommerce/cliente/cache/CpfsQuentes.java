@@ -0,0 +1,110 @@
+package com.ecommerce.cliente.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Frequência de acesso das buscas por CPF, usada para aquecer o cache na subida. Cada instância conta os acessos
+ * em memória e soma periodicamente num sorted set do Redis por status, que guarda só os CPFs mais acessados e
+ * expira se nenhuma instância publicar por um tempo. Só CPFs encontrados são registrados, para que buscas por
+ * CPFs inexistentes não ocupem a lista.
+ */
+@Component
+public class CpfsQuentes {
+
+    private static final Logger log = LoggerFactory.getLogger(CpfsQuentes.class);
+
+    private static final String PREFIXO_CHAVE = "clientes:cache:cpfs-quentes:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final int maximo;
+
+    private final Duration retencao;
+
+    private final Map<Boolean, ConcurrentMap<String, LongAdder>> acessos = Map.of(
+            true, new ConcurrentHashMap<>(), false, new ConcurrentHashMap<>());
+
+    public CpfsQuentes(StringRedisTemplate redisTemplate,
+                       @Value("${clientes.cache.cpfs-quentes.maximo}") int maximo,
+                       @Value("${clientes.cache.cpfs-quentes.retencao}") Duration retencao) {
+        this.redisTemplate = redisTemplate;
+        this.maximo = maximo;
+        this.retencao = retencao;
+    }
+
+    public void registrar(boolean ativo, String cpf) {
+        var contagens = acessos.get(ativo);
+        var contagem = contagens.get(cpf);
+        if (contagem == null) {
+            if (contagens.size() >= maximo) {
+                return;
+            }
+            contagem = contagens.computeIfAbsent(cpf, chave -> new LongAdder());
+        }
+        contagem.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${clientes.cache.cpfs-quentes.intervalo-publicacao}")
+    public void publicar() {
+        publicar(true);
+        publicar(false);
+    }
+
+    public List<String> maisAcessados(boolean ativo, int limite) {
+        if (limite <= 0) {
+            return List.of();
+        }
+        try {
+            var cpfs = redisTemplate.opsForZSet().reverseRange(chave(ativo), 0, limite - 1L);
+            return cpfs == null ? List.of() : List.copyOf(cpfs);
+        } catch (RuntimeException exception) {
+            log.warn("Falha ao ler os CPFs mais acessados do Redis", exception);
+            return List.of();
+        }
+    }
+
+    private void publicar(boolean ativo) {
+        var contagens = acessos.get(ativo);
+        if (contagens.isEmpty()) {
+            return;
+        }
+        var lote = new HashMap<String, Long>();
+        for (var cpf : List.copyOf(contagens.keySet())) {
+            var contagem = contagens.remove(cpf);
+            if (contagem != null) {
+                lote.put(cpf, contagem.sum());
+            }
+        }
+        var chave = chave(ativo);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) conexao -> {
+                var comandos = (StringRedisConnection) conexao;
+                lote.forEach((cpf, contagem) -> comandos.zIncrBy(chave, contagem, cpf));
+                comandos.zRemRange(chave, 0, -maximo - 1L);
+                comandos.pExpire(chave, retencao.toMillis());
+                return null;
+            });
+        } catch (RuntimeException exception) {
+            log.warn("Falha ao publicar os CPFs mais acessados no Redis", exception);
+        }
+    }
+
+    private static String chave(boolean ativo) {
+        return PREFIXO_CHAVE + VersaoPaginasCache.namespace(ativo);
+    }
+}
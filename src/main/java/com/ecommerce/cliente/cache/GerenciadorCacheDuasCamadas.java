@@ -0,0 +1,99 @@
+package com.ecommerce.cliente.cache;
+
+import com.ecommerce.cliente.config.ClientesCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cria as regiões do {@link CacheDuasCamadas} sobre o cache do Redis. As renovações em segundo plano rodam num
+ * executor limitado a {@code clientes.cache.renovacao.maximo-simultaneas} tarefas, sem fila: a renovação recusada
+ * é descartada e a chave volta a ser carregada pelo caminho normal quando expirar. O executor é encerrado junto com
+ * o contexto.
+ */
+public class GerenciadorCacheDuasCamadas implements CacheManager, AutoCloseable {
+
+    private final RedisCacheManager gerenciadorRemoto;
+
+    private final PublicadorInvalidacaoCache publicador;
+
+    private final MeterRegistry registry;
+
+    private final ClientesCacheProperties propriedades;
+
+    private final ObservationRegistry observacoes;
+
+    private final TravaCarregamento trava;
+
+    private final ExecutorService renovador;
+
+    private final ConcurrentMap<String, CacheDuasCamadas> caches = new ConcurrentHashMap<>();
+
+    public GerenciadorCacheDuasCamadas(RedisCacheManager gerenciadorRemoto, PublicadorInvalidacaoCache publicador,
+                                       MeterRegistry registry, ClientesCacheProperties propriedades,
+                                       ObservationRegistry observacoes, TravaCarregamento trava) {
+        this.gerenciadorRemoto = gerenciadorRemoto;
+        this.publicador = publicador;
+        this.registry = registry;
+        this.propriedades = propriedades;
+        this.observacoes = observacoes;
+        this.trava = trava;
+        this.renovador = new ThreadPoolExecutor(0, propriedades.getRenovacao().getMaximoSimultaneas(),
+                30, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                Thread.ofPlatform().daemon().name("cache-renovacao-", 0).factory());
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, nome -> {
+            var remoto = gerenciadorRemoto.getCache(nome);
+            if (remoto == null) {
+                return null;
+            }
+            var expiracaoL1 = propriedades.expiracaoL1(nome);
+            var renovacao = propriedades.getRenovacao();
+            com.github.benmanes.caffeine.cache.Cache<String, CacheDuasCamadas.EntradaLocal> local = Caffeine.newBuilder()
+                    .maximumSize(propriedades.tamanhoMaximoL1(nome))
+                    .expireAfterWrite(expiracaoL1.plus(renovacao.getJanelaObsoleto()))
+                    .build();
+            var politica = new PoliticaCarregamento(expiracaoL1, renovacao.getBeta(), trava,
+                    propriedades.getTrava().getIntervaloEspera(), renovador);
+            return new CacheDuasCamadas(nome, local, remoto, publicador, registry, observacoes, politica);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return gerenciadorRemoto.getCacheNames();
+    }
+
+    public void removerLocal(String nomeCache, String chave) {
+        var cache = caches.get(nomeCache);
+        if (cache != null) {
+            cache.removerLocal(chave);
+        }
+    }
+
+    public void limparLocal(String nomeCache) {
+        var cache = caches.get(nomeCache);
+        if (cache != null) {
+            cache.limparLocal();
+        }
+    }
+
+    @Override
+    public void close() {
+        renovador.shutdownNow();
+    }
+}
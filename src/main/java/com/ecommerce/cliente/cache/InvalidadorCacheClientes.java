@@ -0,0 +1,88 @@
+package com.ecommerce.cliente.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class InvalidadorCacheClientes {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidadorCacheClientes.class);
+
+    private final CacheManager cacheManager;
+
+    private final VersaoPaginasCache versaoPaginas;
+
+    public InvalidadorCacheClientes(CacheManager cacheManager, VersaoPaginasCache versaoPaginas) {
+        this.cacheManager = cacheManager;
+        this.versaoPaginas = versaoPaginas;
+    }
+
+    public void invalidarCpf(String cpf) {
+        aposCommit(() -> {
+            remover(RegioesCache.CPF_ATIVOS, ChaveCacheClientes.chaveCpf(true, cpf));
+            remover(RegioesCache.CPF_INATIVOS, ChaveCacheClientes.chaveCpf(false, cpf));
+            remover(RegioesCache.JSON_CPF_ATIVOS, ChaveCacheClientes.chaveCpf(true, cpf));
+            remover(RegioesCache.JSON_CPF_INATIVOS, ChaveCacheClientes.chaveCpf(false, cpf));
+            remover(RegioesCache.CPF_AUSENTES_ATIVOS, ChaveCacheClientes.chaveCpf(true, cpf));
+            remover(RegioesCache.CPF_AUSENTES_INATIVOS, ChaveCacheClientes.chaveCpf(false, cpf));
+        });
+    }
+
+    /**
+     * Limpa as regiões de CPFs ausentes inteiras, para escritas em lote em que remover CPF por CPF custaria
+     * mais do que recarregar as ausências, que expiram rápido de qualquer forma.
+     */
+    public void invalidarAusencias() {
+        aposCommit(() -> {
+            limpar(RegioesCache.CPF_AUSENTES_ATIVOS);
+            limpar(RegioesCache.CPF_AUSENTES_INATIVOS);
+        });
+    }
+
+    public void invalidarPaginas(boolean ativo) {
+        aposCommit(() -> versaoPaginas.incrementar(VersaoPaginasCache.namespace(ativo)));
+    }
+
+    private void remover(String regiao, String chave) {
+        var cache = cacheManager.getCache(regiao);
+        if (cache != null) {
+            cache.evict(chave);
+        }
+    }
+
+    private void limpar(String regiao) {
+        var cache = cacheManager.getCache(regiao);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void aposCommit(Runnable invalidacao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executar(invalidacao);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                executar(invalidacao);
+            }
+        });
+    }
+
+    /**
+     * A escrita já foi confirmada quando a invalidação roda, então uma falha do cache é só registrada; as entradas
+     * que ficarem para trás expiram pelo TTL.
+     */
+    private static void executar(Runnable invalidacao) {
+        try {
+            invalidacao.run();
+        } catch (RuntimeException exception) {
+            log.warn("Falha ao invalidar o cache de clientes depois da escrita", exception);
+        }
+    }
+}
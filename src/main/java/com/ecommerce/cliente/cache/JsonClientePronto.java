@@ -0,0 +1,43 @@
+package com.ecommerce.cliente.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON final de um cliente, guardado no cache já serializado e, se configurado, já comprimido com gzip. O ID
+ * e a versão acompanham os bytes para a ETag ser calculada sem desserializar o cliente.
+ */
+public record JsonClientePronto(UUID id, Long versao, boolean gzip, byte[] conteudo) implements Serializable {
+
+    public static JsonClientePronto de(UUID id, Long versao, byte[] json, boolean gzip) {
+        return new JsonClientePronto(id, versao, gzip, gzip ? compactar(json) : json);
+    }
+
+    public byte[] json() {
+        return gzip ? descompactar(conteudo) : conteudo;
+    }
+
+    private static byte[] compactar(byte[] json) {
+        var bytes = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (var saida = new GZIPOutputStream(bytes)) {
+            saida.write(json);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] descompactar(byte[] compactado) {
+        try (var entrada = new GZIPInputStream(new ByteArrayInputStream(compactado))) {
+            return entrada.readAllBytes();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
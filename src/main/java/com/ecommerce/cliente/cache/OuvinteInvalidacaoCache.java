@@ -0,0 +1,40 @@
+package com.ecommerce.cliente.cache;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+public class OuvinteInvalidacaoCache implements MessageListener {
+
+    private static final Pattern SEPARADOR = Pattern.compile(Pattern.quote(PublicadorInvalidacaoCache.SEPARADOR));
+
+    private final GerenciadorCacheDuasCamadas gerenciador;
+
+    private final VersaoPaginasCache versaoPaginas;
+
+    private final String idInstancia;
+
+    public OuvinteInvalidacaoCache(GerenciadorCacheDuasCamadas gerenciador, VersaoPaginasCache versaoPaginas,
+                                   String idInstancia) {
+        this.gerenciador = gerenciador;
+        this.versaoPaginas = versaoPaginas;
+        this.idInstancia = idInstancia;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var partes = SEPARADOR.split(new String(message.getBody(), StandardCharsets.UTF_8), 4);
+        if (partes.length < 4 || idInstancia.equals(partes[0])) {
+            return;
+        }
+        switch (partes[1]) {
+            case PublicadorInvalidacaoCache.REMOCAO -> gerenciador.removerLocal(partes[2], partes[3]);
+            case PublicadorInvalidacaoCache.LIMPEZA -> gerenciador.limparLocal(partes[2]);
+            case PublicadorInvalidacaoCache.VERSAO -> versaoPaginas.atualizar(partes[2], Long.parseLong(partes[3]));
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.cliente.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Como uma região do {@link CacheDuasCamadas} carrega e renova as chaves: expiração lógica da L1, fator
+ * {@code beta} da renovação antecipada, trava entre instâncias e o executor das renovações em segundo plano.
+ */
+public record PoliticaCarregamento(Duration expiracaoL1, double beta, TravaCarregamento trava,
+                                   Duration intervaloEspera, Executor renovador) {
+}
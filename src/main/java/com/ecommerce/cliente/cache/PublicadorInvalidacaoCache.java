@@ -0,0 +1,57 @@
+package com.ecommerce.cliente.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+public class PublicadorInvalidacaoCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicadorInvalidacaoCache.class);
+
+    static final String SEPARADOR = "|";
+    static final String REMOCAO = "R";
+    static final String LIMPEZA = "L";
+    static final String VERSAO = "V";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final String canal;
+
+    private final String idInstancia = UUID.randomUUID().toString();
+
+    public PublicadorInvalidacaoCache(StringRedisTemplate redisTemplate, String canal) {
+        this.redisTemplate = redisTemplate;
+        this.canal = canal;
+    }
+
+    public void publicarRemocao(String nomeCache, String chave) {
+        publicar(REMOCAO, nomeCache, chave);
+    }
+
+    public void publicarLimpeza(String nomeCache) {
+        publicar(LIMPEZA, nomeCache, "");
+    }
+
+    public void publicarVersao(String namespace, long versao) {
+        publicar(VERSAO, namespace, String.valueOf(versao));
+    }
+
+    public String getIdInstancia() {
+        return idInstancia;
+    }
+
+    public String getCanal() {
+        return canal;
+    }
+
+    private void publicar(String tipo, String nomeCache, String chave) {
+        var mensagem = String.join(SEPARADOR, idInstancia, tipo, nomeCache, chave);
+        try {
+            redisTemplate.convertAndSend(canal, mensagem);
+        } catch (RuntimeException exception) {
+            log.warn("Falha ao publicar invalidação do cache {} no canal {}", nomeCache, canal, exception);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.cliente.cache;
+
+public final class RegioesCache {
+
+    public static final String CPF_ATIVOS = "clientes-ativos-cpf";
+    public static final String CPF_INATIVOS = "clientes-inativos-cpf";
+    public static final String PAGINAS_ATIVOS = "clientes-ativos-paginas";
+    public static final String PAGINAS_INATIVOS = "clientes-inativos-paginas";
+    public static final String JSON_CPF_ATIVOS = "clientes-ativos-cpf-json";
+    public static final String JSON_CPF_INATIVOS = "clientes-inativos-cpf-json";
+    public static final String CPF_AUSENTES_ATIVOS = "clientes-ativos-cpf-ausente";
+    public static final String CPF_AUSENTES_INATIVOS = "clientes-inativos-cpf-ausente";
+
+    private RegioesCache() {
+    }
+
+    public static String cpf(boolean ativo) {
+        return ativo ? CPF_ATIVOS : CPF_INATIVOS;
+    }
+
+    public static String jsonCpf(boolean ativo) {
+        return ativo ? JSON_CPF_ATIVOS : JSON_CPF_INATIVOS;
+    }
+
+    public static String cpfAusente(boolean ativo) {
+        return ativo ? CPF_AUSENTES_ATIVOS : CPF_AUSENTES_INATIVOS;
+    }
+
+    public static String paginas(boolean ativo) {
+        return ativo ? PAGINAS_ATIVOS : PAGINAS_INATIVOS;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.cliente.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Mede o tempo gasto serializando e desserializando os valores do cache remoto, no timer
+ * {@code clientes.cache.serializacao} com a tag {@code operacao}, para separá-lo do tempo de rede do Redis.
+ */
+public class SerializadorCacheMedido implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> serializador;
+
+    private final Timer escrita;
+
+    private final Timer leitura;
+
+    public SerializadorCacheMedido(RedisSerializer<Object> serializador, MeterRegistry registry) {
+        this.serializador = serializador;
+        this.escrita = timer(registry, "escrita");
+        this.leitura = timer(registry, "leitura");
+    }
+
+    @Override
+    public byte[] serialize(Object valor) throws SerializationException {
+        return escrita.record(() -> serializador.serialize(valor));
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        return leitura.record(() -> serializador.deserialize(bytes));
+    }
+
+    private static Timer timer(MeterRegistry registry, String operacao) {
+        return Timer.builder("clientes.cache.serializacao")
+                .description("Tempo de serialização dos valores do cache remoto")
+                .tag("operacao", operacao)
+                .register(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.cliente.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Trava curta no Redis ({@code SET NX PX}) que elege uma única instância para carregar uma chave que faltou no
+ * cache. A trava expira sozinha se quem a tem cair, e só é liberada por quem a adquiriu. Se o Redis falhar a
+ * trava é considerada adquirida: cada instância carrega por conta própria, como antes da trava existir.
+ */
+public class TravaCarregamento {
+
+    private static final Logger log = LoggerFactory.getLogger(TravaCarregamento.class);
+
+    private static final String PREFIXO = "clientes:cache:trava:";
+
+    private static final RedisScript<Long> LIBERACAO = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final Duration duracao;
+
+    public TravaCarregamento(StringRedisTemplate redisTemplate, Duration duracao) {
+        this.redisTemplate = redisTemplate;
+        this.duracao = duracao;
+    }
+
+    /**
+     * Devolve o token da trava adquirida, ou {@code null} se outra instância já está carregando a chave.
+     */
+    public String adquirir(String nomeCache, String chave) {
+        var token = UUID.randomUUID().toString();
+        try {
+            var adquirida = redisTemplate.opsForValue().setIfAbsent(chaveTrava(nomeCache, chave), token, duracao);
+            return Boolean.FALSE.equals(adquirida) ? null : token;
+        } catch (RuntimeException exception) {
+            log.debug("Falha ao adquirir a trava de carregamento do cache {}", nomeCache, exception);
+            return token;
+        }
+    }
+
+    public void liberar(String nomeCache, String chave, String token) {
+        try {
+            redisTemplate.execute(LIBERACAO, List.of(chaveTrava(nomeCache, chave)), token);
+        } catch (RuntimeException exception) {
+            log.debug("Falha ao liberar a trava de carregamento do cache {}", nomeCache, exception);
+        }
+    }
+
+    public Duration getDuracao() {
+        return duracao;
+    }
+
+    private static String chaveTrava(String nomeCache, String chave) {
+        return PREFIXO + nomeCache + ":" + chave;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecommerce.cliente.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Versão do namespace das páginas em cache, por status. As chaves das páginas carregam a versão atual,
+ * então incrementar a versão torna todas as páginas antigas daquele status inalcançáveis (elas expiram
+ * pelo TTL) sem precisar limpar o cache inteiro.
+ */
+@Component
+public class VersaoPaginasCache {
+
+    private static final Logger log = LoggerFactory.getLogger(VersaoPaginasCache.class);
+
+    private static final String PREFIXO_CHAVE = "clientes:cache:versao:";
+
+    public static final String ATIVOS = "ativos";
+    public static final String INATIVOS = "inativos";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final PublicadorInvalidacaoCache publicador;
+
+    private final long intervaloSincronizacao;
+
+    private final ConcurrentMap<String, VersaoLocal> versoes = new ConcurrentHashMap<>();
+
+    public VersaoPaginasCache(StringRedisTemplate redisTemplate, PublicadorInvalidacaoCache publicador,
+                              @Value("${clientes.cache.versao.intervalo-sincronizacao}") Duration intervaloSincronizacao) {
+        this.redisTemplate = redisTemplate;
+        this.publicador = publicador;
+        this.intervaloSincronizacao = intervaloSincronizacao.toNanos();
+    }
+
+    public static String namespace(boolean ativo) {
+        return ativo ? ATIVOS : INATIVOS;
+    }
+
+    public long atual(String namespace) {
+        var local = versoes.get(namespace);
+        var agora = System.nanoTime();
+        if (local != null && agora - local.sincronizadaEm() < intervaloSincronizacao) {
+            return local.valor();
+        }
+        try {
+            var valor = redisTemplate.opsForValue().get(PREFIXO_CHAVE + namespace);
+            return atualizar(namespace, valor == null ? 0L : Long.parseLong(valor));
+        } catch (RuntimeException exception) {
+            log.warn("Falha ao sincronizar a versão das páginas {} com o Redis", namespace, exception);
+            return local != null ? local.valor() : 0L;
+        }
+    }
+
+    /**
+     * Roda depois do commit da escrita, então uma falha do Redis só é registrada: as páginas antigas continuam
+     * alcançáveis até expirarem pelo TTL, mas a escrita já confirmada não vira erro.
+     */
+    public void incrementar(String namespace) {
+        try {
+            var novaVersao = redisTemplate.opsForValue().increment(PREFIXO_CHAVE + namespace);
+            if (novaVersao != null) {
+                atualizar(namespace, novaVersao);
+                publicador.publicarVersao(namespace, novaVersao);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Falha ao incrementar a versão das páginas {} no Redis", namespace, exception);
+        }
+    }
+
+    long atualizar(String namespace, long valor) {
+        var agora = System.nanoTime();
+        return versoes.merge(namespace, new VersaoLocal(valor, agora),
+                (atual, nova) -> new VersaoLocal(Math.max(atual.valor(), nova.valor()), agora)).valor();
+    }
+
+    private record VersaoLocal(long valor, long sincronizadaEm) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.cliente.concorrencia;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Expõe em {@code /actuator/clientesdisputados} os clientes com mais conflitos de versão recentes. O ID do
+ * cliente não vira tag de métrica para não explodir a cardinalidade das séries.
+ */
+@Component
+@Endpoint(id = "clientesdisputados")
+public class ClientesDisputadosEndpoint {
+
+    private static final int LIMITE = 20;
+
+    private final RepeticaoOtimista repeticaoOtimista;
+
+    public ClientesDisputadosEndpoint(RepeticaoOtimista repeticaoOtimista) {
+        this.repeticaoOtimista = repeticaoOtimista;
+    }
+
+    @ReadOperation
+    public Map<UUID, Long> clientesDisputados() {
+        return repeticaoOtimista.maisDisputados(LIMITE);
+    }
+}
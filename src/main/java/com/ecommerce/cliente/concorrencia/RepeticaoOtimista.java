@@ -0,0 +1,133 @@
+package com.ecommerce.cliente.concorrencia;
+
+import com.ecommerce.cliente.exceptions.ConflictException;
+import com.ecommerce.cliente.exceptions.PreconditionFailedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executa as escritas de um cliente em transação própria e repete a transação inteira quando o
+ * {@code @Version} acusa escrita concorrente. Só operações idempotentes passam por aqui: cada tentativa relê o
+ * cliente e reaplica a mesma alteração. Esgotadas as tentativas a escrita falha com 409. Quando o chamador
+ * informou a versão esperada ({@code If-Match}) não há repetição, e o conflito vira 412.
+ * <p>
+ * Os conflitos por operação e desfecho vão para a métrica {@code clientes.concorrencia.conflitos}; os clientes
+ * com mais conflitos recentes ficam em memória para o endpoint {@code clientesdisputados}.
+ */
+@Component
+public class RepeticaoOtimista {
+
+    private static final Logger log = LoggerFactory.getLogger(RepeticaoOtimista.class);
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry registry;
+
+    private final int tentativasMaximas;
+
+    private final Duration esperaInicial;
+
+    private final Cache<UUID, LongAdder> conflitosPorCliente = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .maximumSize(10_000)
+            .build();
+
+    public RepeticaoOtimista(PlatformTransactionManager transactionManager, MeterRegistry registry,
+                             @Value("${clientes.concorrencia.tentativas-maximas}") int tentativasMaximas,
+                             @Value("${clientes.concorrencia.espera-inicial}") Duration esperaInicial) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registry = registry;
+        this.tentativasMaximas = tentativasMaximas;
+        this.esperaInicial = esperaInicial;
+    }
+
+    public <T> T executar(String operacao, UUID id, Long versaoEsperada, Supplier<T> escrita) {
+        execucoes(operacao).increment();
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> escrita.get());
+            } catch (OptimisticLockingFailureException exception) {
+                conflitosPorCliente.get(id, chave -> new LongAdder()).increment();
+                if (versaoEsperada != null) {
+                    conflitos(operacao, "versao-divergente").increment();
+                    throw new PreconditionFailedException("Cliente com o ID " + id
+                            + " foi alterado por outra requisição.");
+                }
+                if (tentativa >= tentativasMaximas) {
+                    conflitos(operacao, "esgotado").increment();
+                    log.warn("Escrita '{}' do cliente {} desistiu após {} conflitos de versão", operacao, id,
+                            tentativa);
+                    throw new ConflictException("Cliente com o ID " + id
+                            + " está sendo alterado por outra requisição, tente novamente.");
+                }
+                conflitos(operacao, "repetido").increment();
+                log.debug("Conflito de versão na escrita '{}' do cliente {}, tentativa {}", operacao, id, tentativa);
+                esperar(tentativa);
+            }
+        }
+    }
+
+    public void executar(String operacao, UUID id, Runnable escrita) {
+        executar(operacao, id, null, () -> {
+            escrita.run();
+            return null;
+        });
+    }
+
+    /**
+     * Clientes com mais conflitos de versão nos últimos minutos, do mais disputado para o menos.
+     */
+    public Map<UUID, Long> maisDisputados(int limite) {
+        Map<UUID, Long> resultado = new LinkedHashMap<>();
+        conflitosPorCliente.asMap().entrySet().stream()
+                .map(entrada -> Map.entry(entrada.getKey(), entrada.getValue().sum()))
+                .sorted(Map.Entry.<UUID, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limite)
+                .forEach(entrada -> resultado.put(entrada.getKey(), entrada.getValue()));
+        return resultado;
+    }
+
+    private Counter execucoes(String operacao) {
+        return Counter.builder("clientes.concorrencia.execucoes")
+                .tag("operacao", operacao)
+                .register(registry);
+    }
+
+    private Counter conflitos(String operacao, String desfecho) {
+        return Counter.builder("clientes.concorrencia.conflitos")
+                .tag("operacao", operacao)
+                .tag("desfecho", desfecho)
+                .register(registry);
+    }
+
+    private void esperar(int tentativa) {
+        var base = esperaInicial.toMillis() << (tentativa - 1);
+        if (base <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(base + ThreadLocalRandom.current().nextLong(base));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Escrita do cliente interrompida durante a espera por nova tentativa.");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.cliente.config;
+
+import com.ecommerce.cliente.cache.ChaveCacheClientes;
+import com.ecommerce.cliente.cache.ClienteCacheSerializer;
+import com.ecommerce.cliente.cache.GerenciadorCacheDuasCamadas;
+import com.ecommerce.cliente.cache.OuvinteInvalidacaoCache;
+import com.ecommerce.cliente.cache.PublicadorInvalidacaoCache;
+import com.ecommerce.cliente.cache.RegioesCache;
+import com.ecommerce.cliente.cache.SerializadorCacheMedido;
+import com.ecommerce.cliente.cache.TravaCarregamento;
+import com.ecommerce.cliente.cache.VersaoPaginasCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.HashMap;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties({CacheProperties.class, ClientesCacheProperties.class})
+public class CacheConfig {
+
+    @Bean
+    public PublicadorInvalidacaoCache publicadorInvalidacaoCache(StringRedisTemplate redisTemplate,
+                                                                 @Value("${clientes.cache.invalidacao.canal}") String canal) {
+        return new PublicadorInvalidacaoCache(redisTemplate, canal);
+    }
+
+    @Bean
+    public GerenciadorCacheDuasCamadas cacheManager(RedisConnectionFactory connectionFactory,
+                                                    CacheProperties cacheProperties,
+                                                    ResourceLoader resourceLoader,
+                                                    PublicadorInvalidacaoCache publicador,
+                                                    MeterRegistry registry,
+                                                    ObservationRegistry observacoes,
+                                                    ClientesCacheProperties propriedades,
+                                                    StringRedisTemplate redisTemplate) {
+        RedisSerializer<Object> serializador = switch (propriedades.getSerializador()) {
+            case BINARIO -> new ClienteCacheSerializer();
+            case JDK -> new JdkSerializationRedisSerializer(resourceLoader.getClassLoader());
+        };
+        var configuracaoRemota = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new SerializadorCacheMedido(serializador, registry)));
+        var tempoDeVida = cacheProperties.getRedis().getTimeToLive();
+        if (tempoDeVida != null) {
+            configuracaoRemota = configuracaoRemota.entryTtl(tempoDeVida);
+        }
+
+        var configuracoesRegioes = new HashMap<String, RedisCacheConfiguration>();
+        for (var nome : List.of(RegioesCache.CPF_ATIVOS, RegioesCache.CPF_INATIVOS,
+                RegioesCache.PAGINAS_ATIVOS, RegioesCache.PAGINAS_INATIVOS,
+                RegioesCache.JSON_CPF_ATIVOS, RegioesCache.JSON_CPF_INATIVOS,
+                RegioesCache.CPF_AUSENTES_ATIVOS, RegioesCache.CPF_AUSENTES_INATIVOS)) {
+            var ttlRegiao = propriedades.regiao(nome).getTtl();
+            configuracoesRegioes.put(nome, ttlRegiao != null ? configuracaoRemota.entryTtl(ttlRegiao) : configuracaoRemota);
+        }
+
+        var gerenciadorRemoto = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(configuracaoRemota)
+                .withInitialCacheConfigurations(configuracoesRegioes)
+                .build();
+        gerenciadorRemoto.afterPropertiesSet();
+
+        var trava = new TravaCarregamento(redisTemplate, propriedades.getTrava().getDuracao());
+        return new GerenciadorCacheDuasCamadas(gerenciadorRemoto, publicador, registry, propriedades, observacoes,
+                trava);
+    }
+
+    @Bean
+    public ChaveCacheClientes chaveCacheAtivos(VersaoPaginasCache versaoPaginas) {
+        return new ChaveCacheClientes(true, versaoPaginas);
+    }
+
+    @Bean
+    public ChaveCacheClientes chaveCacheInativos(VersaoPaginasCache versaoPaginas) {
+        return new ChaveCacheClientes(false, versaoPaginas);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer invalidacaoCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           GerenciadorCacheDuasCamadas cacheManager,
+                                                                           VersaoPaginasCache versaoPaginas,
+                                                                           PublicadorInvalidacaoCache publicador) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(new OuvinteInvalidacaoCache(cacheManager, versaoPaginas,
+                publicador.getIdInstancia()), new ChannelTopic(publicador.getCanal()));
+        return container;
+    }
+}
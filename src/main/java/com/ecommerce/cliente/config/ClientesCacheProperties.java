@@ -0,0 +1,80 @@
+package com.ecommerce.cliente.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clientes.cache")
+public class ClientesCacheProperties {
+
+    private Serializador serializador = Serializador.BINARIO;
+
+    private CamadaLocal l1 = new CamadaLocal();
+
+    private Map<String, Regiao> regioes = new HashMap<>();
+
+    private Renovacao renovacao = new Renovacao();
+
+    private Trava trava = new Trava();
+
+    public Regiao regiao(String nome) {
+        return regioes.getOrDefault(nome, new Regiao());
+    }
+
+    public long tamanhoMaximoL1(String nome) {
+        var regiao = regiao(nome);
+        return regiao.getTamanhoMaximoL1() != null ? regiao.getTamanhoMaximoL1() : l1.getTamanhoMaximo();
+    }
+
+    public Duration expiracaoL1(String nome) {
+        var regiao = regiao(nome);
+        return regiao.getExpiracaoL1() != null ? regiao.getExpiracaoL1() : l1.getTempoExpiracao();
+    }
+
+    public enum Serializador {
+        BINARIO,
+        JDK
+    }
+
+    @Getter
+    @Setter
+    public static class CamadaLocal {
+        private long tamanhoMaximo = 10000;
+        private Duration tempoExpiracao = Duration.ofSeconds(60);
+    }
+
+    /**
+     * {@code beta} ajusta quão cedo a renovação antecipada começa (1 é o padrão do XFetch, maior antecipa mais);
+     * {@code janelaObsoleto} é por quanto tempo depois da expiração a L1 ainda entrega o valor antigo enquanto a
+     * renovação roda em segundo plano; {@code maximoSimultaneas} limita as renovações em segundo plano ao mesmo
+     * tempo, e as que passarem disso são descartadas.
+     */
+    @Getter
+    @Setter
+    public static class Renovacao {
+        private double beta = 1.0;
+        private Duration janelaObsoleto = Duration.ofSeconds(30);
+        private int maximoSimultaneas = 8;
+    }
+
+    @Getter
+    @Setter
+    public static class Trava {
+        private Duration duracao = Duration.ofSeconds(2);
+        private Duration intervaloEspera = Duration.ofMillis(25);
+    }
+
+    @Getter
+    @Setter
+    public static class Regiao {
+        private Duration ttl;
+        private Long tamanhoMaximoL1;
+        private Duration expiracaoL1;
+    }
+}
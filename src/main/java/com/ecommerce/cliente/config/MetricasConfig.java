@@ -0,0 +1,21 @@
+package com.ecommerce.cliente.config;
+
+import io.lettuce.core.metrics.MicrometerOptions;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * A latência dos comandos do Redis ({@code lettuce.command.completion}) é registrada pelo Lettuce com as opções
+ * abaixo; com histograma ligado o Prometheus recebe os buckets e os alertas podem usar percentis agregados
+ * entre instâncias, como já acontece com {@code http.server.requests}.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MicrometerOptions micrometerOptions() {
+        return MicrometerOptions.builder()
+                .histogram(true)
+                .build();
+    }
+}
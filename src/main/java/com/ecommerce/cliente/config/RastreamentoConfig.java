@@ -0,0 +1,21 @@
+package com.ecommerce.cliente.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Os spans vão para o coletor OTLP quando {@code management.otlp.tracing.export.enabled=true}. Sem coletor,
+ * {@code clientes.rastreamento.log-spans=true} escreve cada span no log da aplicação (e no arquivo, se
+ * {@code logging.file.name} estiver configurado).
+ */
+@Configuration
+public class RastreamentoConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "clientes.rastreamento", name = "log-spans", havingValue = "true")
+    public LoggingSpanExporter exportadorSpansLog() {
+        return LoggingSpanExporter.create();
+    }
+}
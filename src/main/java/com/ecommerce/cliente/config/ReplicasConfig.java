@@ -0,0 +1,76 @@
+package com.ecommerce.cliente.config;
+
+import com.ecommerce.cliente.replicacao.ConfirmacaoPrimario;
+import com.ecommerce.cliente.replicacao.DataSourceRoteado;
+import com.ecommerce.cliente.replicacao.LeituraPropriaEscrita;
+import com.ecommerce.cliente.replicacao.MonitorReplicas;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+
+@Configuration
+@EnableConfigurationProperties(ReplicasProperties.class)
+public class ReplicasConfig {
+
+    @Bean
+    public LeituraPropriaEscrita leituraPropriaEscrita(ReplicasProperties propriedades) {
+        return new LeituraPropriaEscrita(propriedades.getJanelaLeituraPropriaEscrita());
+    }
+
+    @Bean
+    public ConfirmacaoPrimario confirmacaoPrimario(PlatformTransactionManager transactionManager) {
+        return new ConfirmacaoPrimario(transactionManager);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "clientes.replicas", name = "habilitado", havingValue = "true")
+    static class Roteamento {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource dataSourcePrimario(DataSourceProperties propriedadesPrimario) {
+            return propriedadesPrimario.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+
+        @Bean
+        public MonitorReplicas monitorReplicas(HikariDataSource dataSourcePrimario, ReplicasProperties propriedades,
+                                               MeterRegistry registry) {
+            var replicas = new LinkedHashMap<String, DataSource>();
+            for (int i = 0; i < propriedades.getNos().size(); i++) {
+                var no = propriedades.getNos().get(i);
+                var nome = no.getNome() != null ? no.getNome() : "replica-" + (i + 1);
+                var configuracao = new HikariConfig();
+                dataSourcePrimario.copyStateTo(configuracao);
+                configuracao.setPoolName(nome);
+                configuracao.setJdbcUrl(no.getUrl());
+                configuracao.setUsername(no.getUsername() != null ? no.getUsername() : dataSourcePrimario.getUsername());
+                configuracao.setPassword(no.getPassword() != null ? no.getPassword() : dataSourcePrimario.getPassword());
+                configuracao.setReadOnly(true);
+                if (no.getTamanhoPool() != null) {
+                    configuracao.setMaximumPoolSize(no.getTamanhoPool());
+                }
+                replicas.put(nome, new HikariDataSource(configuracao));
+            }
+            return new MonitorReplicas(replicas, propriedades.getAtrasoMaximo(), propriedades.getConsultaAtraso(),
+                    registry);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(HikariDataSource dataSourcePrimario, MonitorReplicas monitorReplicas) {
+            return new LazyConnectionDataSourceProxy(new DataSourceRoteado(dataSourcePrimario, monitorReplicas));
+        }
+    }
+}
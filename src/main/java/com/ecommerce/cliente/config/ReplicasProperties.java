@@ -0,0 +1,39 @@
+package com.ecommerce.cliente.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "clientes.replicas")
+public class ReplicasProperties {
+
+    private boolean habilitado = false;
+
+    private List<No> nos = new ArrayList<>();
+
+    private Duration atrasoMaximo = Duration.ofSeconds(5);
+
+    private Duration intervaloVerificacao = Duration.ofSeconds(2);
+
+    private Duration janelaLeituraPropriaEscrita = Duration.ofSeconds(10);
+
+    private String consultaAtraso = "select case when not pg_is_in_recovery() then 0"
+            + " when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0"
+            + " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    @Getter
+    @Setter
+    public static class No {
+        private String nome;
+        private String url;
+        private String username;
+        private String password;
+        private Integer tamanhoPool;
+    }
+}
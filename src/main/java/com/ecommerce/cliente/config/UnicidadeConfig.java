@@ -0,0 +1,21 @@
+package com.ecommerce.cliente.config;
+
+import com.ecommerce.cliente.validation.FiltroUnicidadeClientes;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class UnicidadeConfig {
+
+    @Bean
+    public RedisMessageListenerContainer unicidadeListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                    FiltroUnicidadeClientes filtroUnicidade) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(filtroUnicidade, new ChannelTopic(filtroUnicidade.getCanal()));
+        return container;
+    }
+}
@@ -1,73 +1,262 @@
 package com.ecommerce.cliente.controllers;
 
+import com.ecommerce.cliente.cache.CpfsAusentes;
+import com.ecommerce.cliente.cache.CpfsQuentes;
+import com.ecommerce.cliente.cache.JsonClientePronto;
 import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
 import com.ecommerce.cliente.dtos.ClienteStatusRecordDTO;
-import com.ecommerce.cliente.models.ClienteModel;
+import com.ecommerce.cliente.dtos.FiltroExportacaoRecordDTO;
+import com.ecommerce.cliente.dtos.JanelaClientesRecordDTO;
+import com.ecommerce.cliente.dtos.ResultadoLoteRecordDTO;
+import com.ecommerce.cliente.enums.FormatoExportacao;
+import com.ecommerce.cliente.services.BuscaClienteService;
 import com.ecommerce.cliente.services.ClienteService;
+import com.ecommerce.cliente.services.EscritaAdiadaStatusService;
+import com.ecommerce.cliente.services.ExportacaoClienteService;
+import com.ecommerce.cliente.services.JsonProntoClienteService;
+import com.ecommerce.cliente.services.RegistroLoteClienteService;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping(value = "/clientes")
+@Observed(name = "clientes.controlador")
 public class ClienteController {
 
+    static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private  ClienteService clienteService;
 
-    public ClienteController(ClienteService clienteService) {
+    private  ExportacaoClienteService exportacaoClienteService;
+
+    private  RegistroLoteClienteService registroLoteClienteService;
+
+    private  EscritaAdiadaStatusService escritaAdiadaStatusService;
+
+    private  JsonProntoClienteService jsonProntoClienteService;
+
+    private  BuscaClienteService buscaClienteService;
+
+    private  CpfsQuentes cpfsQuentes;
+
+    private  CpfsAusentes cpfsAusentes;
+
+    private  CacheControl cacheListagens;
+
+    public ClienteController(ClienteService clienteService, ExportacaoClienteService exportacaoClienteService,
+                             RegistroLoteClienteService registroLoteClienteService,
+                             EscritaAdiadaStatusService escritaAdiadaStatusService,
+                             JsonProntoClienteService jsonProntoClienteService,
+                             BuscaClienteService buscaClienteService, CpfsQuentes cpfsQuentes,
+                             CpfsAusentes cpfsAusentes,
+                             @Value("${clientes.http.listagens.max-age}") Duration maxAgeListagens) {
         this.clienteService = clienteService;
+        this.exportacaoClienteService = exportacaoClienteService;
+        this.registroLoteClienteService = registroLoteClienteService;
+        this.escritaAdiadaStatusService = escritaAdiadaStatusService;
+        this.jsonProntoClienteService = jsonProntoClienteService;
+        this.buscaClienteService = buscaClienteService;
+        this.cpfsQuentes = cpfsQuentes;
+        this.cpfsAusentes = cpfsAusentes;
+        this.cacheListagens = CacheControl.maxAge(maxAgeListagens).cachePrivate();
     }
 
     @PostMapping()
-    public ResponseEntity<ClienteModel> registrarCliente(@RequestBody @Valid ClienteRecordDTO clienteDTO) {
+    public ResponseEntity<ClienteResponseRecordDTO> registrarCliente(@RequestBody @Valid ClienteRecordDTO clienteDTO) {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(clienteService.registrarCliente(clienteDTO));
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteRecordDTO> registrarClientesEmLote(@RequestBody List<ClienteRecordDTO> clientesDTO) {
+        var resultado = registroLoteClienteService.registrarClientes(clientesDTO);
+        return ResponseEntity.status(resultado.rejeitados() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(resultado);
+    }
+
     @GetMapping()
-    public ResponseEntity<Page<ClienteModel>> buscarClientesAtivos(@PageableDefault(page = 0, size = 10,
-            sort = "dataNascimento", direction = Sort.Direction.ASC) Pageable paginado) {
+    public ResponseEntity<Page<ClienteResponseRecordDTO>> buscarClientesAtivos(@PageableDefault(page = 0, size = 10,
+            sort = "dataNascimento", direction = Sort.Direction.ASC) Pageable paginado,
+            @RequestParam(value = "contagemExata", defaultValue = "false") boolean contagemExata,
+            WebRequest requisicao) {
+        var pagina = contagemExata ? clienteService.buscarClientesAtivosComContagemExata(paginado)
+                : clienteService.buscarClientesAtivos(paginado);
+        return respostaCondicional(requisicao, EtagClientes.dePagina(pagina), cacheListagens, pagina);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<JanelaClientesRecordDTO> buscarClientesAtivosPorCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamanho", defaultValue = "10") int tamanho,
+            WebRequest requisicao) {
+        var janela = clienteService.buscarClientesAtivosPorCursor(cursor, tamanho);
+        return respostaCondicional(requisicao, EtagClientes.deJanela(janela), cacheListagens, janela);
+    }
+
+    @GetMapping("/busca")
+    public ResponseEntity<JanelaClientesRecordDTO> buscarClientesPorTermo(
+            @RequestParam(value = "termo") String termo,
+            @RequestParam(value = "ativo", required = false) Boolean ativo,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamanho", defaultValue = "10") int tamanho,
+            WebRequest requisicao) {
+        var janela = buscaClienteService.buscarClientes(termo, ativo, cursor, tamanho);
+        return respostaCondicional(requisicao, EtagClientes.deJanela(janela), cacheListagens, janela);
+    }
+
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportarClientes(
+            @RequestParam(value = "formato", defaultValue = "NDJSON") FormatoExportacao formato,
+            @RequestParam(value = "ativo", required = false) Boolean ativo,
+            @RequestParam(value = "dataNascimentoInicio", required = false)
+            @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataNascimentoInicio,
+            @RequestParam(value = "dataNascimentoFim", required = false)
+            @DateTimeFormat(pattern = "dd/MM/yyyy") LocalDate dataNascimentoFim) {
+        var filtro = new FiltroExportacaoRecordDTO(ativo, dataNascimentoInicio, dataNascimentoFim);
+        exportacaoClienteService.validarFiltro(filtro);
+        StreamingResponseBody corpo = saida -> exportacaoClienteService.exportarClientes(filtro, formato, saida);
         return ResponseEntity.status(HttpStatus.OK)
-                .body(clienteService.buscarClientesAtivos(paginado));
+                .contentType(MediaType.parseMediaType(formato.getTipoConteudo() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("clientes." + formato.getExtensao()).build().toString())
+                .body(corpo);
+    }
+
+    /**
+     * Escreve o JSON guardado no cache sem passar pelo Jackson. Se o cliente aceita gzip e o valor já está
+     * comprimido, os bytes vão como estão com {@code Content-Encoding: gzip}; caso contrário vão descomprimidos.
+     */
+    private ResponseEntity<byte[]> respostaJsonPronta(WebRequest requisicao, JsonClientePronto json) {
+        var etag = EtagClientes.de(json.id(), json.versao());
+        if (etag != null && requisicao.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        var resposta = ResponseEntity.status(HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (json.gzip() && aceitaGzip(requisicao.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(json.conteudo());
+        }
+        return resposta.body(json.json());
+    }
+
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (var codificacao : acceptEncoding.split(",")) {
+            var partes = codificacao.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                return partes.length == 1 || !partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
     @GetMapping("/{cpf}")
-    public ResponseEntity<ClienteModel> buscarClienteAtivoPorCpf(@PathVariable(value = "cpf") String cpf) {
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(clienteService.buscarClienteAtivoPorCpf(cpf));
+    public ResponseEntity<?> buscarClienteAtivoPorCpf(@PathVariable(value = "cpf") String cpf, WebRequest requisicao) {
+        cpfsAusentes.conferir(true, cpf);
+        if (jsonProntoClienteService.isHabilitado()) {
+            var json = jsonProntoClienteService.buscarClienteAtivoPorCpf(cpf);
+            cpfsQuentes.registrar(true, cpf);
+            return respostaJsonPronta(requisicao, json);
+        }
+        var cliente = clienteService.buscarClienteAtivoPorCpf(cpf);
+        cpfsQuentes.registrar(true, cpf);
+        return respostaCondicional(requisicao, EtagClientes.de(cliente.id(), cliente.versao()), CacheControl.noCache(),
+                cliente);
     }
 
     @GetMapping("/inativos")
-    public ResponseEntity<Page<ClienteModel>> buscarClientesInativos(@PageableDefault(page = 0, size = 10,
-            sort = "dataNascimento", direction = Sort.Direction.ASC) Pageable paginado) {
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(clienteService.buscarClientesInativos(paginado));
+    public ResponseEntity<Page<ClienteResponseRecordDTO>> buscarClientesInativos(@PageableDefault(page = 0, size = 10,
+            sort = "dataNascimento", direction = Sort.Direction.ASC) Pageable paginado,
+            @RequestParam(value = "contagemExata", defaultValue = "false") boolean contagemExata,
+            WebRequest requisicao) {
+        var pagina = contagemExata ? clienteService.buscarClientesInativosComContagemExata(paginado)
+                : clienteService.buscarClientesInativos(paginado);
+        return respostaCondicional(requisicao, EtagClientes.dePagina(pagina), cacheListagens, pagina);
+    }
+
+    @GetMapping("/inativos/cursor")
+    public ResponseEntity<JanelaClientesRecordDTO> buscarClientesInativosPorCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamanho", defaultValue = "10") int tamanho,
+            WebRequest requisicao) {
+        var janela = clienteService.buscarClientesInativosPorCursor(cursor, tamanho);
+        return respostaCondicional(requisicao, EtagClientes.deJanela(janela), cacheListagens, janela);
     }
 
     @GetMapping("/inativo/{cpf}")
-    public ResponseEntity<ClienteModel> buscarClienteInativoPorCpf(@PathVariable(value = "cpf") String cpf) {
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(clienteService.buscarClienteInativoPorCpf(cpf));
+    public ResponseEntity<?> buscarClienteInativoPorCpf(@PathVariable(value = "cpf") String cpf, WebRequest requisicao) {
+        cpfsAusentes.conferir(false, cpf);
+        if (jsonProntoClienteService.isHabilitado()) {
+            var json = jsonProntoClienteService.buscarClienteInativoPorCpf(cpf);
+            cpfsQuentes.registrar(false, cpf);
+            return respostaJsonPronta(requisicao, json);
+        }
+        var cliente = clienteService.buscarClienteInativoPorCpf(cpf);
+        cpfsQuentes.registrar(false, cpf);
+        return respostaCondicional(requisicao, EtagClientes.de(cliente.id(), cliente.versao()), CacheControl.noCache(),
+                cliente);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ClienteModel> atualizarDadosCliente(@PathVariable(value = "id") UUID id,
-                                                        @RequestBody @Valid ClienteRecordDTO clienteDTO) {
+    public ResponseEntity<ClienteResponseRecordDTO> atualizarDadosCliente(@PathVariable(value = "id") UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid ClienteRecordDTO clienteDTO) {
+        var cliente = clienteService.atualizarDadosCliente(id, clienteDTO, EtagClientes.versaoEsperada(id, ifMatch));
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(EtagClientes.de(cliente.id(), cliente.versao()))
+                .body(cliente);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<ClienteResponseRecordDTO> atualizarParcialmenteCliente(
+            @PathVariable(value = "id") UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        var cliente = clienteService.atualizarParcialmenteCliente(id, patch,
+                EtagClientes.versaoEsperada(id, ifMatch));
         return ResponseEntity.status(HttpStatus.OK)
-                .body(clienteService.atualizarDadosCliente(id, clienteDTO));
+                .eTag(EtagClientes.de(cliente.id(), cliente.versao()))
+                .body(cliente);
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<Void> alternarStatusCliente(@PathVariable(value = "id") UUID id,
                                                       @RequestBody ClienteStatusRecordDTO clienteStatusDTO) {
+        if (escritaAdiadaStatusService.isHabilitado()) {
+            escritaAdiadaStatusService.alternarStatus(id, clienteStatusDTO.ativo());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        }
         clienteService.alternarStatusCliente(id, clienteStatusDTO);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
@@ -78,5 +267,23 @@ public class ClienteController {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    /**
+     * Responde 304 sem corpo quando o {@code If-None-Match} casa com a ETag, o que dispensa a serialização do
+     * valor que veio do cache; caso contrário devolve o corpo com a ETag e o {@code Cache-Control}.
+     */
+    private <T> ResponseEntity<T> respostaCondicional(WebRequest requisicao, String etag, CacheControl cacheControl,
+                                                      T corpo) {
+        if (etag != null && requisicao.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(corpo);
+    }
+
 
 }
@@ -0,0 +1,82 @@
+package com.ecommerce.cliente.controllers;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.ecommerce.cliente.dtos.JanelaClientesRecordDTO;
+import com.ecommerce.cliente.exceptions.PreconditionFailedException;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ETag;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * ETag forte dos clientes, {@code "<id>-<versao>"}. O ID entra porque as buscas são por CPF, e um CPF pode
+ * passar a apontar para outro cliente (alteração de CPF, remoção e novo cadastro) com a mesma versão, já que toda
+ * linha nova começa na versão 0; só a versão faria o {@code If-None-Match} devolver 304 com o corpo do cliente
+ * anterior. No {@code If-Match} só vale a comparação forte: ETags fracas, de outro cliente ou que não trazem uma
+ * versão nunca casam e a escrita é recusada com 412. Nas listagens a ETag é um hash do ID, da versão e do status de cada cliente e dos dados da página, calculado sobre o valor que veio do
+ * cache, sem serializar o corpo. Essa ETag é fraca porque o Tomcat não comprime respostas com ETag forte, e as
+ * listagens são os corpos que mais ganham com gzip; o {@code If-None-Match} compara de forma fraca, então o 304
+ * continua valendo.
+ */
+final class EtagClientes {
+
+    private EtagClientes() {
+    }
+
+    static String de(UUID id, Long versao) {
+        return id == null || versao == null ? null : "\"" + id + "-" + versao + "\"";
+    }
+
+    static String dePagina(Page<ClienteResponseRecordDTO> pagina) {
+        var hasher = Hashing.murmur3_128().newHasher()
+                .putInt(pagina.getNumber())
+                .putInt(pagina.getSize())
+                .putLong(pagina.getTotalElements());
+        pagina.getContent().forEach(cliente -> adicionar(hasher, cliente));
+        return "W/\"p-" + hasher.hash() + "\"";
+    }
+
+    static String deJanela(JanelaClientesRecordDTO janela) {
+        var hasher = Hashing.murmur3_128().newHasher()
+                .putBoolean(janela.temProxima());
+        janela.conteudo().forEach(cliente -> adicionar(hasher, cliente));
+        if (janela.proximoCursor() != null) {
+            hasher.putString(janela.proximoCursor(), StandardCharsets.UTF_8);
+        }
+        return "W/\"j-" + hasher.hash() + "\"";
+    }
+
+    static Long versaoEsperada(UUID id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        var etags = ETag.parse(ifMatch);
+        if (etags.size() == 1 && etags.get(0).isWildcard()) {
+            return null;
+        }
+        if (etags.size() != 1 || etags.get(0).weak()) {
+            throw new PreconditionFailedException("If-Match deve trazer uma única ETag forte do cliente.");
+        }
+        var tag = etags.get(0).tag();
+        var separador = tag.lastIndexOf('-');
+        if (separador < 0 || !tag.substring(0, separador).equalsIgnoreCase(String.valueOf(id))) {
+            throw new PreconditionFailedException("ETag " + ifMatch + " não é do cliente " + id + ".");
+        }
+        try {
+            return Long.valueOf(tag.substring(separador + 1));
+        } catch (NumberFormatException exception) {
+            throw new PreconditionFailedException("ETag " + ifMatch + " não corresponde a uma versão do cliente.");
+        }
+    }
+
+    private static void adicionar(Hasher hasher, ClienteResponseRecordDTO cliente) {
+        var id = cliente.id();
+        hasher.putLong(id == null ? 0 : id.getMostSignificantBits())
+                .putLong(id == null ? 0 : id.getLeastSignificantBits())
+                .putLong(cliente.versao() == null ? -1 : cliente.versao())
+                .putBoolean(cliente.ativo());
+    }
+}
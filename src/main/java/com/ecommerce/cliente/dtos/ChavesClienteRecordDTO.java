@@ -0,0 +1,4 @@
+package com.ecommerce.cliente.dtos;
+
+public record ChavesClienteRecordDTO(String cpf, String email) {
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.cliente.dtos;
+
+import com.ecommerce.cliente.embedded.Endereco;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ClienteResponseRecordDTO(UUID id,
+                                       String nome,
+                                       LocalDate dataNascimento,
+                                       String email,
+                                       String cpf,
+                                       EnderecoRecordDTO endereco,
+                                       boolean ativo,
+                                       Long versao) implements Serializable {
+
+    public ClienteResponseRecordDTO(UUID id, String nome, LocalDate dataNascimento, String email, String cpf,
+                                    Endereco endereco, boolean ativo, Long versao) {
+        this(id, nome, dataNascimento, email, cpf, endereco == null ? null : new EnderecoRecordDTO(
+                endereco.getLogradouro(), endereco.getNumero(), endereco.getBairro(),
+                endereco.getCidade(), endereco.getEstado(), endereco.getCep()), ativo, versao);
+    }
+
+    public ClienteResponseRecordDTO comAtivo(boolean ativo) {
+        return new ClienteResponseRecordDTO(id, nome, dataNascimento, email, cpf, endereco, ativo, versao);
+    }
+}
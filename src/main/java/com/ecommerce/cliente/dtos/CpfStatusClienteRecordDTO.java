@@ -0,0 +1,4 @@
+package com.ecommerce.cliente.dtos;
+
+public record CpfStatusClienteRecordDTO(String cpf, boolean ativo) {
+}
@@ -2,6 +2,8 @@ package com.ecommerce.cliente.dtos;
 
 import jakarta.validation.constraints.NotBlank;
 
+import java.io.Serializable;
+
 public record EnderecoRecordDTO(
         @NotBlank(message = "Campo 'logradouro' não pode estar vazio!")
         String logradouro,
@@ -14,5 +16,5 @@ public record EnderecoRecordDTO(
         @NotBlank(message = "Campo 'estado' não pode estar vazio!")
         String estado,
         @NotBlank(message = "Campo 'cep' não pode estar vazio!")
-        String cep) {
+        String cep) implements Serializable {
 }
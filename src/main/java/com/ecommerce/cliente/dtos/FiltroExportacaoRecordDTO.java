@@ -0,0 +1,8 @@
+package com.ecommerce.cliente.dtos;
+
+import java.time.LocalDate;
+
+public record FiltroExportacaoRecordDTO(Boolean ativo,
+                                        LocalDate dataNascimentoInicio,
+                                        LocalDate dataNascimentoFim) {
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.cliente.dtos;
+
+import java.util.List;
+
+public record JanelaClientesRecordDTO(List<ClienteResponseRecordDTO> conteudo,
+                                      int tamanho,
+                                      boolean temProxima,
+                                      String proximoCursor) {
+}
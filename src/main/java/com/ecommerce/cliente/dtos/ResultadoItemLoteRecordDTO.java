@@ -0,0 +1,13 @@
+package com.ecommerce.cliente.dtos;
+
+import com.ecommerce.cliente.enums.StatusItemLote;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ResultadoItemLoteRecordDTO(int indice,
+                                         String cpf,
+                                         StatusItemLote status,
+                                         UUID id,
+                                         List<String> erros) {
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.cliente.dtos;
+
+import java.util.List;
+
+public record ResultadoLoteRecordDTO(int total,
+                                     int registrados,
+                                     int rejeitados,
+                                     List<ResultadoItemLoteRecordDTO> itens) {
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.cliente.enums;
+
+public enum StatusItemLote {
+    REGISTRADO,
+    INVALIDO,
+    CONFLITO,
+    ERRO
+}
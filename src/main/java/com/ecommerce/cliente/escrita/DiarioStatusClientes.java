@@ -0,0 +1,161 @@
+package com.ecommerce.cliente.escrita;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Diário em disco das trocas de status pendentes, uma linha por troca, gravado com {@code force} antes de a
+ * troca ser aceita. Na descarga o arquivo atual é renomeado para {@code .descarregando} e só é apagado
+ * depois que o lote foi confirmado no banco; na subida os dois arquivos são relidos. Não é thread-safe:
+ * quem usa serializa as chamadas.
+ */
+public class DiarioStatusClientes implements AutoCloseable {
+
+    private static final String SEPARADOR = ";";
+
+    private final Path atual;
+
+    private final Path descarregando;
+
+    private FileChannel canal;
+
+    public DiarioStatusClientes(Path diretorio) {
+        try {
+            Files.createDirectories(diretorio);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        this.atual = diretorio.resolve("status-clientes.diario");
+        this.descarregando = diretorio.resolve("status-clientes.diario.descarregando");
+    }
+
+    public void registrar(Collection<StatusPendente> pendentes) {
+        try {
+            var buffer = ByteBuffer.wrap(linhas(pendentes));
+            var destino = abrir();
+            while (buffer.hasRemaining()) {
+                destino.write(buffer);
+            }
+            destino.force(false);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Falha ao gravar o diário de status", exception);
+        }
+    }
+
+    public void rotacionar() {
+        try {
+            fecharCanal();
+            if (Files.exists(atual)) {
+                Files.move(atual, descarregando, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Falha ao rotacionar o diário de status", exception);
+        }
+    }
+
+    public void concluirDescarga() {
+        try {
+            Files.deleteIfExists(descarregando);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Falha ao apagar o diário descarregado", exception);
+        }
+    }
+
+    /**
+     * Substitui os dois arquivos por um único diário com as trocas informadas, usado depois da recuperação
+     * para não carregar trocas já coalescidas de uma subida para a outra.
+     */
+    public void compactar(Collection<StatusPendente> pendentes) {
+        var temporario = atual.resolveSibling(atual.getFileName() + ".tmp");
+        try {
+            fecharCanal();
+            try (var destino = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                var buffer = ByteBuffer.wrap(linhas(pendentes));
+                while (buffer.hasRemaining()) {
+                    destino.write(buffer);
+                }
+                destino.force(false);
+            }
+            Files.move(temporario, atual, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(descarregando);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Falha ao compactar o diário de status", exception);
+        }
+    }
+
+    public List<StatusPendente> recuperar() {
+        List<StatusPendente> pendentes = new ArrayList<>();
+        for (var arquivo : List.of(descarregando, atual)) {
+            if (!Files.exists(arquivo)) {
+                continue;
+            }
+            try (var linhas = Files.lines(arquivo, StandardCharsets.UTF_8)) {
+                linhas.map(DiarioStatusClientes::ler)
+                        .filter(Objects::nonNull)
+                        .forEach(pendentes::add);
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Falha ao ler o diário de status " + arquivo, exception);
+            }
+        }
+        return pendentes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fecharCanal();
+    }
+
+    private static StatusPendente ler(String linha) {
+        var partes = linha.split(SEPARADOR);
+        if (partes.length != 5) {
+            return null;
+        }
+        try {
+            return new StatusPendente(Long.parseLong(partes[0]), UUID.fromString(partes[1]), partes[2],
+                    Boolean.parseBoolean(partes[3]), Long.parseLong(partes[4]));
+        } catch (IllegalArgumentException exception) {
+            // linha cortada por uma queda no meio da gravação
+            return null;
+        }
+    }
+
+    private static byte[] linhas(Collection<StatusPendente> pendentes) {
+        var linhas = new StringBuilder();
+        for (var pendente : pendentes) {
+            linhas.append(pendente.sequencia()).append(SEPARADOR)
+                    .append(pendente.id()).append(SEPARADOR)
+                    .append(pendente.cpf()).append(SEPARADOR)
+                    .append(pendente.ativo()).append(SEPARADOR)
+                    .append(pendente.enfileiradoEm()).append('\n');
+        }
+        return linhas.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private FileChannel abrir() throws IOException {
+        if (canal == null) {
+            canal = FileChannel.open(atual, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return canal;
+    }
+
+    private void fecharCanal() throws IOException {
+        if (canal != null) {
+            canal.close();
+            canal = null;
+        }
+    }
+}
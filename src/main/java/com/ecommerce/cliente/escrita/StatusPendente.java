@@ -0,0 +1,10 @@
+package com.ecommerce.cliente.escrita;
+
+import java.util.UUID;
+
+/**
+ * Troca de status aceita e ainda não aplicada no banco. {@code sequencia} ordena as trocas do mesmo cliente:
+ * vale a de maior sequência, independentemente da ordem em que aparecem no diário.
+ */
+public record StatusPendente(long sequencia, UUID id, String cpf, boolean ativo, long enfileiradoEm) {
+}
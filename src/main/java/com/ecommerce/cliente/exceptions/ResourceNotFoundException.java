@@ -4,4 +4,16 @@ public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
         super(message);
     }
+
+    private ResourceNotFoundException(String message, boolean rastreavel) {
+        super(message, null, false, rastreavel);
+    }
+
+    /**
+     * Variante sem stack trace para 404 esperados em caminhos quentes, como CPFs inexistentes, em que montar o
+     * rastreamento custa mais do que a própria resposta e não ajuda a diagnosticar nada.
+     */
+    public static ResourceNotFoundException semRastreamento(String message) {
+        return new ResourceNotFoundException(message, false);
+    }
 }
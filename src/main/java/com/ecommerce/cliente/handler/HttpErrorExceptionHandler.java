@@ -2,35 +2,63 @@ package com.ecommerce.cliente.handler;
 
 import com.ecommerce.cliente.exceptions.BadRequestException;
 import com.ecommerce.cliente.exceptions.ConflictException;
+import com.ecommerce.cliente.exceptions.PreconditionFailedException;
 import com.ecommerce.cliente.exceptions.ResourceNotFoundException;
-import org.hibernate.ObjectNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+/**
+ * Converte as exceções da API em respostas HTTP e conta cada erro em {@code clientes.http.erros}, com as tags
+ * {@code excecao} e {@code status}. As tags vêm só das exceções tratadas aqui, então a cardinalidade é fixa.
+ */
 @RestControllerAdvice
 public class HttpErrorExceptionHandler {
 
+    private final MeterRegistry registry;
+
+    public HttpErrorExceptionHandler(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
     @ExceptionHandler(ConflictException.class)
     public ResponseEntity<String> conflict(ConflictException exception) {
-        return ResponseEntity.status(HttpStatus.CONFLICT)
-                .body(exception.getMessage());
+        return resposta(HttpStatus.CONFLICT, exception, exception.getMessage());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> conflict(DataIntegrityViolationException exception) {
+        return resposta(HttpStatus.CONFLICT, exception, "Cliente com CPF ou e-mail já cadastrado!");
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> conflict(OptimisticLockingFailureException exception) {
+        return resposta(HttpStatus.CONFLICT, exception, "Cliente alterado por outra requisição, tente novamente.");
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<String> notFound(ResourceNotFoundException exception) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(exception.getMessage());
-
+        return resposta(HttpStatus.NOT_FOUND, exception, exception.getMessage());
+    }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> preconditionFailed(PreconditionFailedException exception) {
+        return resposta(HttpStatus.PRECONDITION_FAILED, exception, exception.getMessage());
     }
+
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<String> BadRequest(BadRequestException exception){
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                .body(exception.getMessage());
+        return resposta(HttpStatus.BAD_REQUEST, exception, exception.getMessage());
     }
 
-
-
+    private ResponseEntity<String> resposta(HttpStatus status, Exception exception, String corpo) {
+        registry.counter("clientes.http.erros",
+                "excecao", exception.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+        return ResponseEntity.status(status).body(corpo);
+    }
 }
@@ -1,19 +1,37 @@
 package com.ecommerce.cliente.mappers;
 
 import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
 import com.ecommerce.cliente.dtos.EnderecoRecordDTO;
 import com.ecommerce.cliente.embedded.Endereco;
 import com.ecommerce.cliente.models.ClienteModel;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 
 
 @Mapper(componentModel = "spring")
 public interface ClienteMapper {
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "ativo", ignore = true)
+    @Mapping(target = "versao", ignore = true)
     ClienteModel clienteDTOParaModel(ClienteRecordDTO clienteDTO);
 
     Endereco enderecoDTOParaEndereco(EnderecoRecordDTO enderecoDTO);
 
+    default ClienteResponseRecordDTO clienteModelParaResponse(ClienteModel cliente) {
+        return new ClienteResponseRecordDTO(cliente.getId(), cliente.getNome(), cliente.getDataNascimento(),
+                cliente.getEmail(), cliente.getCpf(), cliente.getEndereco(), cliente.isAtivo(), cliente.getVersao());
+    }
+
+    default ClienteRecordDTO clienteModelParaRecord(ClienteModel cliente) {
+        var endereco = cliente.getEndereco();
+        return new ClienteRecordDTO(cliente.getNome(), cliente.getDataNascimento(), cliente.getEmail(),
+                cliente.getCpf(), endereco == null ? null : new EnderecoRecordDTO(endereco.getLogradouro(),
+                endereco.getNumero(), endereco.getBairro(), endereco.getCidade(), endereco.getEstado(),
+                endereco.getCep()));
+    }
+
 
 }
@@ -0,0 +1,103 @@
+package com.ecommerce.cliente.migracao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Confere na subida se os índices criados pelas migrações existem na tabela de clientes. A falta de um
+ * deles não impede a aplicação de subir, mas faz as listagens por status e as buscas por CPF ou por termo caírem em
+ * varredura sequencial, então o aviso aparece no log. No PostgreSQL também avisa dos índices inválidos: um
+ * {@code create index concurrently} que falha deixa o índice no catálogo com {@code indisvalid = false}, e o
+ * planejador o ignora embora o nome exista.
+ */
+@Component
+public class VerificadorIndicesClientes {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificadorIndicesClientes.class);
+
+    static final String TABELA = "clientes";
+
+    static final List<String> INDICES_ESPERADOS = List.of(
+            "idx_clientes_ativos_nascimento",
+            "idx_clientes_inativos_nascimento",
+            "idx_clientes_cpf_status",
+            "idx_clientes_busca_trgm",
+            "idx_clientes_nome");
+
+    static final String CONSULTA_INVALIDOS = "select indice.relname from pg_index i"
+            + " join pg_class indice on indice.oid = i.indexrelid"
+            + " where i.indrelid = to_regclass(?) and (not i.indisvalid or not i.indisready)";
+
+    private final DataSource dataSource;
+
+    public VerificadorIndicesClientes(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificar() {
+        try {
+            var ausentes = indicesAusentes();
+            if (!ausentes.isEmpty()) {
+                log.warn("Índices ausentes na tabela {}: {}. Confira as migrações do Flyway.", TABELA, ausentes);
+            }
+            var invalidos = indicesInvalidos();
+            if (!invalidos.isEmpty()) {
+                log.warn("Índices inválidos na tabela {}: {}. A criação concorrente falhou; remova-os com drop index"
+                        + " concurrently e rode a migração de novo.", TABELA, invalidos);
+            }
+        } catch (SQLException exception) {
+            log.warn("Não foi possível verificar os índices da tabela {}", TABELA, exception);
+        }
+    }
+
+    public List<String> indicesAusentes() throws SQLException {
+        Set<String> existentes = new HashSet<>();
+        try (var conexao = dataSource.getConnection()) {
+            var metadados = conexao.getMetaData();
+            var tabela = metadados.storesUpperCaseIdentifiers() ? TABELA.toUpperCase(Locale.ROOT) : TABELA;
+            try (var indices = metadados.getIndexInfo(conexao.getCatalog(), null, tabela, false, true)) {
+                while (indices.next()) {
+                    var nome = indices.getString("INDEX_NAME");
+                    if (nome != null) {
+                        existentes.add(nome.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return INDICES_ESPERADOS.stream().filter(indice -> !existentes.contains(indice)).toList();
+    }
+
+    /**
+     * Índices da tabela que existem mas não estão prontos para uso. Só o PostgreSQL tem essa situação; nos
+     * demais bancos a lista é sempre vazia.
+     */
+    public List<String> indicesInvalidos() throws SQLException {
+        List<String> invalidos = new ArrayList<>();
+        try (var conexao = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(conexao.getMetaData().getDatabaseProductName())) {
+                return invalidos;
+            }
+            try (var consulta = conexao.prepareStatement(CONSULTA_INVALIDOS)) {
+                consulta.setString(1, TABELA);
+                try (var indices = consulta.executeQuery()) {
+                    while (indices.next()) {
+                        invalidos.add(indices.getString(1));
+                    }
+                }
+            }
+        }
+        return invalidos;
+    }
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.io.Serializable;
 import java.time.LocalDate;
@@ -13,6 +14,7 @@ import java.util.UUID;
 
 @Entity()
 @Table(name = "CLIENTES")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,7 +23,7 @@ public class ClienteModel implements Serializable {
 
     private static final long serialversionUID = 4L;
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     @Column(nullable = false)
     private String nome;
@@ -35,6 +37,8 @@ public class ClienteModel implements Serializable {
     private Endereco endereco;
     @Column(columnDefinition = "BOOLEAN DEFAULT true")
     private boolean ativo = true;
+    @Version
+    private Long versao;
 
     public ClienteModel(String nome, LocalDate dataNascimento, String email, String cpf, Endereco endereco) {
         this.nome = nome;
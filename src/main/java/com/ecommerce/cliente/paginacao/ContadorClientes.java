@@ -0,0 +1,40 @@
+package com.ecommerce.cliente.paginacao;
+
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Total de clientes por status usado nas páginas sem contagem exata. Lê a soma da tabela
+ * {@code contagem_clientes}, mantida por trigger a cada inserção, troca de status e remoção, e guarda o
+ * valor em memória, recarregando em segundo plano a cada {@code clientes.contagem.intervalo-atualizacao}.
+ * A primeira leitura roda na transação de quem pediu; as recargas seguintes rodam fora dela.
+ */
+@Component
+public class ContadorClientes {
+
+    private final ClienteRepository clienteRepository;
+
+    private final LoadingCache<Boolean, Long> totais;
+
+    public ContadorClientes(ClienteRepository clienteRepository,
+                            @Value("${clientes.contagem.intervalo-atualizacao}") Duration intervaloAtualizacao) {
+        this.clienteRepository = clienteRepository;
+        this.totais = Caffeine.newBuilder()
+                .refreshAfterWrite(intervaloAtualizacao)
+                .build(this::contar);
+    }
+
+    public long total(boolean ativo) {
+        return totais.get(ativo);
+    }
+
+    private long contar(boolean ativo) {
+        return clienteRepository.somarContagemPorStatus(ativo)
+                .orElseGet(() -> clienteRepository.countByAtivo(ativo));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.cliente.paginacao;
+
+import com.ecommerce.cliente.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco da busca por termo, com keyset sobre ({@code nome}, {@code id}). O ID vem primeiro porque tem
+ * tamanho fixo, então o nome pode conter qualquer caractere.
+ */
+public record CursorBuscaClientes(String nome, UUID id) {
+
+    private static final int TAMANHO_ID = 36;
+
+    public String codificar() {
+        var conteudo = id + nome;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorBuscaClientes decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            var conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return new CursorBuscaClientes(conteudo.substring(TAMANHO_ID),
+                    UUID.fromString(conteudo.substring(0, TAMANHO_ID)));
+        } catch (RuntimeException exception) {
+            throw new BadRequestException("Cursor inválido!");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.cliente.paginacao;
+
+import com.ecommerce.cliente.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor opaco da paginação por keyset sobre ({@code dataNascimento}, {@code id}).
+ */
+public record CursorClientes(LocalDate dataNascimento, UUID id) {
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        var conteudo = dataNascimento + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorClientes decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            var conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separador = conteudo.indexOf(SEPARADOR);
+            return new CursorClientes(LocalDate.parse(conteudo.substring(0, separador)),
+                    UUID.fromString(conteudo.substring(separador + 1)));
+        } catch (RuntimeException exception) {
+            throw new BadRequestException("Cursor inválido!");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.cliente.rastreamento;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Tempo acumulado por etapa (controlador, cache, repositório, validação) da requisição em andamento na thread.
+ * Etapas executadas fora da thread da requisição, como a escrita de um {@code StreamingResponseBody}, não entram.
+ */
+public final class EtapasRequisicao {
+
+    static final String CONTROLADOR = "controlador";
+
+    static final List<String> ORDEM = List.of(CONTROLADOR, "validacao", "cache", "repositorio");
+
+    private static final ThreadLocal<EtapasRequisicao> ATUAL = new ThreadLocal<>();
+
+    private final Map<String, long[]> etapas = new HashMap<>();
+
+    private EtapasRequisicao() {
+    }
+
+    static EtapasRequisicao iniciar() {
+        var etapas = new EtapasRequisicao();
+        ATUAL.set(etapas);
+        return etapas;
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    static void registrar(String etapa, long nanos) {
+        var etapas = ATUAL.get();
+        if (etapas != null) {
+            var acumulado = etapas.etapas.computeIfAbsent(etapa, nome -> new long[2]);
+            acumulado[0] += nanos;
+            acumulado[1]++;
+        }
+    }
+
+    long nanos(String etapa) {
+        var acumulado = etapas.get(etapa);
+        return acumulado == null ? 0 : acumulado[0];
+    }
+
+    /**
+     * Resumo das etapas no formato {@code etapa=12,3 ms (2x)}. O que sobra fora do controlador é a leitura e
+     * validação do corpo, a serialização da resposta e os filtros.
+     */
+    String resumo(long totalNanos) {
+        var resumo = new StringJoiner(", ");
+        for (var etapa : ORDEM) {
+            var acumulado = etapas.get(etapa);
+            if (acumulado != null) {
+                resumo.add(etapa + "=" + milissegundos(acumulado[0]) + " (" + acumulado[1] + "x)");
+            }
+        }
+        if (etapas.containsKey(CONTROLADOR)) {
+            resumo.add("fora do controlador=" + milissegundos(totalNanos - nanos(CONTROLADOR)));
+        }
+        return resumo.length() == 0 ? "nenhuma etapa registrada" : resumo.toString();
+    }
+
+    static String milissegundos(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.cliente.rastreamento;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registra no log as requisições acima de {@code clientes.rastreamento.requisicao-lenta.limite}, com o tempo de
+ * cada etapa. Só uma fração delas ({@code amostragem}) é registrada, para um pico de lentidão não inundar o log.
+ * A rota aparece como o padrão mapeado ({@code /clientes/{cpf}}), sem o CPF; o traceId vem da correlação do log.
+ */
+@Component
+public class FiltroRequisicoesLentas extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroRequisicoesLentas.class);
+
+    private final long limiteNanos;
+
+    private final double amostragem;
+
+    public FiltroRequisicoesLentas(@Value("${clientes.rastreamento.requisicao-lenta.limite}") Duration limite,
+                                   @Value("${clientes.rastreamento.requisicao-lenta.amostragem}") double amostragem) {
+        this.limiteNanos = limite.toNanos();
+        this.amostragem = amostragem;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var etapas = EtapasRequisicao.iniciar();
+        var inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            EtapasRequisicao.encerrar();
+            var duracao = System.nanoTime() - inicio;
+            if (duracao >= limiteNanos && ThreadLocalRandom.current().nextDouble() < amostragem) {
+                var rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                log.warn("Requisição lenta: {} {} respondeu {} em {}; etapas: {}", request.getMethod(),
+                        rota != null ? rota : "(sem rota)", response.getStatus(),
+                        EtapasRequisicao.milissegundos(duracao), etapas.resumo(duracao));
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.cliente.rastreamento;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envolve cada método dos repositórios Spring Data na observação {@code clientes.repositorio}, que vira um span
+ * por consulta ({@code ClienteRepository.buscarPorCpfEStatus}, por exemplo) dentro do trace da requisição.
+ */
+@Component
+public class ObservacaoRepositorios implements BeanPostProcessor {
+
+    private final ObjectProvider<ObservationRegistry> registry;
+
+    public ObservacaoRepositorios(ObjectProvider<ObservationRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+            fabrica.addRepositoryFactoryCustomizer(repositorio -> repositorio.addRepositoryProxyPostProcessor(
+                    (proxy, informacoes) -> proxy.addAdvice(interceptador(
+                            informacoes.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private MethodInterceptor interceptador(String repositorio) {
+        var observacoes = registry.getIfAvailable(() -> ObservationRegistry.NOOP);
+        return invocacao -> {
+            var metodo = invocacao.getMethod().getName();
+            return Observation.createNotStarted("clientes.repositorio", observacoes)
+                    .contextualName(repositorio + "." + metodo)
+                    .lowCardinalityKeyValue("repositorio", repositorio)
+                    .lowCardinalityKeyValue("metodo", metodo)
+                    .observeChecked(invocacao::proceed);
+        };
+    }
+}
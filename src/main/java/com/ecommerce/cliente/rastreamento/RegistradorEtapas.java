@@ -0,0 +1,41 @@
+package com.ecommerce.cliente.rastreamento;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Soma a duração das observações de cada etapa em {@link EtapasRequisicao}, para o log de requisições lentas.
+ * As mesmas observações viram spans pelo handler de tracing e timers pelo handler de métricas.
+ */
+@Component
+public class RegistradorEtapas implements ObservationHandler<Observation.Context> {
+
+    static final Map<String, String> ETAPAS = Map.of(
+            "clientes.controlador", EtapasRequisicao.CONTROLADOR,
+            "clientes.cache", "cache",
+            "clientes.repositorio", "repositorio",
+            "clientes.validacao", "validacao");
+
+    private static final String INICIO = RegistradorEtapas.class.getName() + ".inicio";
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context.getName() != null && ETAPAS.containsKey(context.getName());
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(INICIO, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Long inicio = context.get(INICIO);
+        if (inicio != null) {
+            EtapasRequisicao.registrar(ETAPAS.get(context.getName()), System.nanoTime() - inicio);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.cliente.replicacao;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Leitura que não pode transformar o atraso de uma réplica em ausência, como a busca por CPF, cujas faltas vão para
+ * um cache negativo. A consulta roda numa transação somente leitura; se ela foi servida por uma réplica e não
+ * encontrou nada, é repetida no primário depois que a primeira transação terminou, para a requisição nunca segurar
+ * duas conexões ao mesmo tempo. Se a consulta já foi ao primário (forçada, sem réplica saudável ou sem réplicas
+ * habilitadas) a ausência vale como confirmada, sem segunda consulta.
+ */
+public class ConfirmacaoPrimario {
+
+    private final TransactionTemplate leitura;
+
+    public ConfirmacaoPrimario(PlatformTransactionManager transactionManager) {
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+    }
+
+    public <T> Optional<T> lerConfirmandoAusencia(boolean noPrimario, Supplier<Optional<T>> consulta) {
+        RoteamentoLeitura.retirarDestino();
+        var resultado = ler(noPrimario, consulta);
+        var destino = RoteamentoLeitura.retirarDestino();
+        if (resultado.isPresent() || destino == null || DataSourceRoteado.PRIMARIO.equals(destino)) {
+            return resultado;
+        }
+        return ler(true, consulta);
+    }
+
+    private <T> Optional<T> ler(boolean noPrimario, Supplier<Optional<T>> consulta) {
+        var resultado = RoteamentoLeitura.noPrimarioSe(noPrimario, () -> leitura.execute(status -> consulta.get()));
+        return resultado == null ? Optional.empty() : resultado;
+    }
+}
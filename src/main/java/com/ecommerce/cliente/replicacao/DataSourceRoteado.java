@@ -0,0 +1,43 @@
+package com.ecommerce.cliente.replicacao;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+
+/**
+ * Envia transações somente leitura a uma réplica saudável e todo o resto ao primário. Precisa ser
+ * envolvido por um {@code LazyConnectionDataSourceProxy}: a chave é decidida quando a conexão física é
+ * obtida, e só então a transação já foi marcada como somente leitura.
+ */
+public class DataSourceRoteado extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIO = "primario";
+
+    private final MonitorReplicas monitor;
+
+    public DataSourceRoteado(DataSource primario, MonitorReplicas monitor) {
+        this.monitor = monitor;
+        var destinos = new HashMap<Object, Object>(monitor.getReplicas());
+        destinos.put(PRIMARIO, primario);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        var destino = PRIMARIO;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !RoteamentoLeitura.isPrimarioForcado()) {
+            var replica = monitor.escolher();
+            if (replica != null) {
+                destino = replica;
+            }
+        }
+        RoteamentoLeitura.registrarDestino(destino);
+        return destino;
+    }
+}
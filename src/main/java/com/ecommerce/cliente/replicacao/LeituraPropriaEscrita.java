@@ -0,0 +1,34 @@
+package com.ecommerce.cliente.replicacao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * CPFs escritos recentemente por esta instância. Durante a janela configurada as leituras desses CPFs vão
+ * ao primário, para que o próprio cliente veja sua alteração e uma réplica atrasada não repovoe o cache
+ * recém-invalidado com o dado antigo. O registro é local: nas demais instâncias o atraso visível fica
+ * limitado por {@code clientes.replicas.atraso-maximo}.
+ */
+public class LeituraPropriaEscrita {
+
+    private final Cache<String, Boolean> escritasRecentes;
+
+    public LeituraPropriaEscrita(Duration janela) {
+        this.escritasRecentes = Caffeine.newBuilder()
+                .expireAfterWrite(janela)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void registrarEscrita(String cpf) {
+        if (cpf != null) {
+            escritasRecentes.put(cpf, Boolean.TRUE);
+        }
+    }
+
+    public boolean isRecente(String cpf) {
+        return cpf != null && escritasRecentes.getIfPresent(cpf) != null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.cliente.replicacao;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mede periodicamente o atraso de replicação de cada réplica e mantém a lista das que estão dentro do
+ * atraso máximo. Uma réplica só recebe leituras depois da primeira verificação bem-sucedida; se nenhuma
+ * estiver saudável, o {@link DataSourceRoteado} manda as leituras ao primário.
+ */
+public class MonitorReplicas implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplicas.class);
+
+    private final Map<String, DataSource> replicas;
+
+    private final Duration atrasoMaximo;
+
+    private final String consultaAtraso;
+
+    private final Map<String, Double> atrasos = new ConcurrentHashMap<>();
+
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    private volatile List<String> saudaveis = List.of();
+
+    public MonitorReplicas(Map<String, DataSource> replicas, Duration atrasoMaximo, String consultaAtraso,
+                           MeterRegistry registry) {
+        this.replicas = Map.copyOf(replicas);
+        this.atrasoMaximo = atrasoMaximo;
+        this.consultaAtraso = consultaAtraso;
+        for (var nome : this.replicas.keySet()) {
+            atrasos.put(nome, Double.NaN);
+            Gauge.builder("clientes.replicas.atraso", atrasos, valores -> valores.getOrDefault(nome, Double.NaN))
+                    .tag("replica", nome)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${clientes.replicas.intervalo-verificacao}")
+    public void verificar() {
+        List<String> atuais = new ArrayList<>();
+        for (var replica : replicas.entrySet()) {
+            var nome = replica.getKey();
+            try {
+                var atraso = new JdbcTemplate(replica.getValue()).queryForObject(consultaAtraso, Double.class);
+                atrasos.put(nome, atraso != null ? atraso : Double.NaN);
+                if (atraso != null && atraso * 1000 <= atrasoMaximo.toMillis()) {
+                    atuais.add(nome);
+                } else if (saudaveis.contains(nome)) {
+                    log.warn("Réplica {} com atraso de {}s, leituras desviadas para o primário", nome, atraso);
+                }
+            } catch (RuntimeException exception) {
+                atrasos.put(nome, Double.NaN);
+                if (saudaveis.contains(nome)) {
+                    log.warn("Réplica {} indisponível, leituras desviadas para o primário", nome, exception);
+                }
+            }
+        }
+        saudaveis = List.copyOf(atuais);
+    }
+
+    public String escolher() {
+        var atuais = saudaveis;
+        if (atuais.isEmpty()) {
+            return null;
+        }
+        return atuais.get(Math.floorMod(proxima.getAndIncrement(), atuais.size()));
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (var replica : replicas.values()) {
+            if (replica instanceof AutoCloseable fechavel) {
+                fechavel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.cliente.replicacao;
+
+import java.util.function.Supplier;
+
+/**
+ * Força as leituras executadas dentro de {@link #noPrimarioSe} a usar o banco primário mesmo em transações
+ * somente leitura. Funciona porque a conexão física só é obtida no primeiro comando SQL, graças ao
+ * {@code LazyConnectionDataSourceProxy} que envolve o {@link DataSourceRoteado}.
+ */
+public final class RoteamentoLeitura {
+
+    private static final ThreadLocal<Boolean> PRIMARIO_FORCADO = ThreadLocal.withInitial(() -> false);
+
+    private static final ThreadLocal<String> DESTINO = new ThreadLocal<>();
+
+    private RoteamentoLeitura() {
+    }
+
+    public static <T> T noPrimarioSe(boolean condicao, Supplier<T> leitura) {
+        if (!condicao || PRIMARIO_FORCADO.get()) {
+            return leitura.get();
+        }
+        PRIMARIO_FORCADO.set(true);
+        try {
+            return leitura.get();
+        } finally {
+            PRIMARIO_FORCADO.set(false);
+        }
+    }
+
+    public static boolean isPrimarioForcado() {
+        return PRIMARIO_FORCADO.get();
+    }
+
+    /**
+     * Chamado pelo {@link DataSourceRoteado} a cada conexão física obtida, com a chave do destino escolhido.
+     */
+    static void registrarDestino(String destino) {
+        DESTINO.set(destino);
+    }
+
+    /**
+     * Devolve e esquece o destino da última conexão obtida nesta thread, ou {@code null} se nenhuma foi obtida pelo
+     * roteamento desde a última chamada.
+     */
+    static String retirarDestino() {
+        var destino = DESTINO.get();
+        DESTINO.remove();
+        return destino;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.cliente.repositories;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Busca por termos, com uma condição {@code like} por termo. Como a quantidade de termos varia, a consulta é
+ * montada em {@link BuscaClientesRepositoryImpl} em vez de ficar num {@code @Query}.
+ */
+public interface BuscaClientesRepository {
+
+    List<ClienteResponseRecordDTO> buscarPorTermos(List<String> padroes, Boolean ativo, Limit limite);
+
+    List<ClienteResponseRecordDTO> buscarPorTermosApos(List<String> padroes, Boolean ativo, String nome, UUID id,
+                                                       Limit limite);
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.cliente.repositories;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cada termo vira um {@code busca_clientes(...) like :termoN}, combinados com {@code and}, para a busca não
+ * depender da ordem das palavras nem da ordem dos campos concatenados; o índice de trigramas atende cada
+ * condição. A continuação após o cursor repete {@code c.nome >= :nome} para a leitura começar na posição do
+ * cursor em vez de percorrer e filtrar os nomes anteriores.
+ */
+class BuscaClientesRepositoryImpl implements BuscaClientesRepository {
+
+    private static final String SELECAO = "select new com.ecommerce.cliente.dtos.ClienteResponseRecordDTO(c.id,"
+            + " c.nome, c.dataNascimento, c.email, c.cpf, c.endereco, c.ativo, c.versao) from ClienteModel c";
+
+    private static final String CAMPOS_BUSCA = "function('busca_clientes' as String, c.nome, c.email,"
+            + " c.endereco.cidade, c.endereco.bairro, c.endereco.cep)";
+
+    private final EntityManager entityManager;
+
+    BuscaClientesRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ClienteResponseRecordDTO> buscarPorTermos(List<String> padroes, Boolean ativo, Limit limite) {
+        return buscar(padroes, ativo, null, null, limite);
+    }
+
+    @Override
+    public List<ClienteResponseRecordDTO> buscarPorTermosApos(List<String> padroes, Boolean ativo, String nome,
+                                                              UUID id, Limit limite) {
+        return buscar(padroes, ativo, nome, id, limite);
+    }
+
+    private List<ClienteResponseRecordDTO> buscar(List<String> padroes, Boolean ativo, String nome, UUID id,
+                                                  Limit limite) {
+        var jpql = new StringBuilder(SELECAO).append(" where ");
+        for (int indice = 0; indice < padroes.size(); indice++) {
+            if (indice > 0) {
+                jpql.append(" and ");
+            }
+            jpql.append(CAMPOS_BUSCA).append(" like :termo").append(indice).append(" escape '\\'");
+        }
+        if (ativo != null) {
+            jpql.append(" and c.ativo = :ativo");
+        }
+        if (id != null) {
+            jpql.append(" and c.nome >= :nome and (c.nome > :nome or (c.nome = :nome and c.id > :id))");
+        }
+        jpql.append(" order by c.nome, c.id");
+
+        var consulta = entityManager.createQuery(jpql.toString(), ClienteResponseRecordDTO.class);
+        for (int indice = 0; indice < padroes.size(); indice++) {
+            consulta.setParameter("termo" + indice, padroes.get(indice));
+        }
+        if (ativo != null) {
+            consulta.setParameter("ativo", ativo);
+        }
+        if (id != null) {
+            consulta.setParameter("nome", nome);
+            consulta.setParameter("id", id);
+        }
+        if (limite.isLimited()) {
+            consulta.setMaxResults(limite.max());
+        }
+        return consulta.getResultList();
+    }
+}
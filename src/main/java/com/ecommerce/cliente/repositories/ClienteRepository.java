@@ -1,25 +1,99 @@
 package com.ecommerce.cliente.repositories;
 
+import com.ecommerce.cliente.dtos.ChavesClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.ecommerce.cliente.dtos.CpfStatusClienteRecordDTO;
 import com.ecommerce.cliente.models.ClienteModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ClienteRepository extends JpaRepository<ClienteModel, UUID> {
+public interface ClienteRepository extends JpaRepository<ClienteModel, UUID>, BuscaClientesRepository {
     boolean existsByCpf(String cpf);
 
     boolean existsByEmail(String email);
 
-    Page<ClienteModel> findByAtivoTrue(Pageable paginado);
+    @Query("select new com.ecommerce.cliente.dtos.ChavesClienteRecordDTO(c.cpf, c.email) from ClienteModel c"
+            + " where c.cpf in :cpfs or c.email in :emails")
+    List<ChavesClienteRecordDTO> findChavesExistentes(@Param("cpfs") Collection<String> cpfs,
+                                                      @Param("emails") Collection<String> emails);
 
-    Optional<ClienteModel> findByCpfAndAtivoTrue(String cpf);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.ecommerce.cliente.dtos.ChavesClienteRecordDTO(c.cpf, c.email) from ClienteModel c")
+    Stream<ChavesClienteRecordDTO> streamChaves();
 
-    Page<ClienteModel> findByAtivoFalse(Pageable paginado);
+    @Query("select new com.ecommerce.cliente.dtos.ClienteResponseRecordDTO(c.id, c.nome, c.dataNascimento,"
+            + " c.email, c.cpf, c.endereco, c.ativo, c.versao) from ClienteModel c where c.ativo = :ativo"
+            + " order by c.dataNascimento, c.id")
+    List<ClienteResponseRecordDTO> buscarJanelaInicial(@Param("ativo") boolean ativo, Limit limite);
 
-    Optional<ClienteModel> findByCpfAndAtivoFalse(String cpf);
+    @Query("select new com.ecommerce.cliente.dtos.ClienteResponseRecordDTO(c.id, c.nome, c.dataNascimento,"
+            + " c.email, c.cpf, c.endereco, c.ativo, c.versao) from ClienteModel c where c.ativo = :ativo"
+            + " and c.dataNascimento >= :dataNascimento"
+            + " and (c.dataNascimento > :dataNascimento or (c.dataNascimento = :dataNascimento and c.id > :id))"
+            + " order by c.dataNascimento, c.id")
+    List<ClienteResponseRecordDTO> buscarJanelaApos(@Param("ativo") boolean ativo,
+                                                   @Param("dataNascimento") LocalDate dataNascimento,
+                                                   @Param("id") UUID id, Limit limite);
+
+    @Query(value = "select new com.ecommerce.cliente.dtos.ClienteResponseRecordDTO(c.id, c.nome, c.dataNascimento,"
+            + " c.email, c.cpf, c.endereco, c.ativo, c.versao) from ClienteModel c where c.ativo = :ativo",
+            countQuery = "select count(c) from ClienteModel c where c.ativo = :ativo")
+    Page<ClienteResponseRecordDTO> buscarPaginaPorStatus(@Param("ativo") boolean ativo, Pageable paginado);
+
+    @Query("select new com.ecommerce.cliente.dtos.ClienteResponseRecordDTO(c.id, c.nome, c.dataNascimento,"
+            + " c.email, c.cpf, c.endereco, c.ativo, c.versao) from ClienteModel c where c.ativo = :ativo")
+    Slice<ClienteResponseRecordDTO> buscarFatiaPorStatus(@Param("ativo") boolean ativo, Pageable paginado);
+
+    @Transactional(readOnly = true)
+    @Query(value = "select sum(total) from contagem_clientes where ativo = :ativo", nativeQuery = true)
+    Optional<Long> somarContagemPorStatus(@Param("ativo") boolean ativo);
+
+    long countByAtivo(boolean ativo);
+
+    @Query("select new com.ecommerce.cliente.dtos.ClienteResponseRecordDTO(c.id, c.nome, c.dataNascimento,"
+            + " c.email, c.cpf, c.endereco, c.ativo, c.versao) from ClienteModel c where c.cpf = :cpf and c.ativo = :ativo")
+    Optional<ClienteResponseRecordDTO> buscarPorCpfEStatus(@Param("cpf") String cpf, @Param("ativo") boolean ativo);
+
+    @Query("select new com.ecommerce.cliente.dtos.ClienteResponseRecordDTO(c.id, c.nome, c.dataNascimento,"
+            + " c.email, c.cpf, c.endereco, c.ativo, c.versao) from ClienteModel c where c.cpf = :cpf")
+    Optional<ClienteResponseRecordDTO> buscarPorCpf(@Param("cpf") String cpf);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.ecommerce.cliente.dtos.CpfStatusClienteRecordDTO(c.cpf, c.ativo) from ClienteModel c"
+            + " where c.id = :id")
+    Optional<CpfStatusClienteRecordDTO> buscarCpfEStatusPorId(@Param("id") UUID id);
+
+    @Modifying
+    @Query("update ClienteModel c set c.ativo = :ativo, c.versao = c.versao + 1 where c.id in :ids and c.ativo <> :ativo")
+    int atualizarStatus(@Param("ativo") boolean ativo, @Param("ids") Collection<UUID> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.ecommerce.cliente.dtos.ClienteResponseRecordDTO(c.id, c.nome, c.dataNascimento,"
+            + " c.email, c.cpf, c.endereco, c.ativo, c.versao) from ClienteModel c"
+            + " where (:ativo is null or c.ativo = :ativo)"
+            + " and (:inicio is null or c.dataNascimento >= :inicio)"
+            + " and (:fim is null or c.dataNascimento <= :fim)"
+            + " order by c.dataNascimento, c.id")
+    Stream<ClienteResponseRecordDTO> streamParaExportacao(@Param("ativo") Boolean ativo,
+                                                          @Param("inicio") LocalDate inicio,
+                                                          @Param("fim") LocalDate fim);
 }
@@ -0,0 +1,50 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.busca.PadraoBuscaClientes;
+import com.ecommerce.cliente.dtos.JanelaClientesRecordDTO;
+import com.ecommerce.cliente.exceptions.BadRequestException;
+import com.ecommerce.cliente.paginacao.CursorBuscaClientes;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Busca de clientes por trecho do nome, e-mail, cidade, bairro ou CEP, sem diferenciar acentos e maiúsculas.
+ * A paginação é por keyset sobre ({@code nome}, {@code id}), sem contagem total.
+ */
+@Service
+@Timed(value = "clientes.servico", histogram = true)
+public class BuscaClienteService {
+
+    private static final int TAMANHO_MAXIMO_JANELA = 100;
+
+    private final ClienteRepository clienteRepository;
+
+    public BuscaClienteService(ClienteRepository clienteRepository) {
+        this.clienteRepository = clienteRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public JanelaClientesRecordDTO buscarClientes(String termo, Boolean ativo, String cursor, int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_JANELA) {
+            throw new BadRequestException("Campo 'tamanho' deve estar entre 1 e " + TAMANHO_MAXIMO_JANELA + "!");
+        }
+        var padroes = PadraoBuscaClientes.de(termo);
+        var posicao = CursorBuscaClientes.decodificar(cursor);
+        var clientes = posicao == null
+                ? clienteRepository.buscarPorTermos(padroes, ativo, Limit.of(tamanho + 1))
+                : clienteRepository.buscarPorTermosApos(padroes, ativo, posicao.nome(), posicao.id(),
+                        Limit.of(tamanho + 1));
+
+        var temProxima = clientes.size() > tamanho;
+        var conteudo = temProxima ? clientes.subList(0, tamanho) : clientes;
+        String proximoCursor = null;
+        if (temProxima) {
+            var ultimo = conteudo.get(conteudo.size() - 1);
+            proximoCursor = new CursorBuscaClientes(ultimo.nome(), ultimo.id()).codificar();
+        }
+        return new JanelaClientesRecordDTO(conteudo, conteudo.size(), temProxima, proximoCursor);
+    }
+}
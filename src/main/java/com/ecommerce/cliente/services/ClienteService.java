@@ -1,27 +1,50 @@
 package com.ecommerce.cliente.services;
 
+import com.ecommerce.cliente.atualizacao.MergePatchClientes;
+import com.ecommerce.cliente.cache.CpfsAusentes;
+import com.ecommerce.cliente.cache.InvalidadorCacheClientes;
+import com.ecommerce.cliente.cache.RegioesCache;
+import com.ecommerce.cliente.concorrencia.RepeticaoOtimista;
 import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
 import com.ecommerce.cliente.dtos.ClienteStatusRecordDTO;
+import com.ecommerce.cliente.dtos.JanelaClientesRecordDTO;
+import com.ecommerce.cliente.exceptions.BadRequestException;
+import com.ecommerce.cliente.exceptions.PreconditionFailedException;
 import com.ecommerce.cliente.exceptions.ResourceNotFoundException;
 import com.ecommerce.cliente.mappers.ClienteMapper;
 import com.ecommerce.cliente.models.ClienteModel;
+import com.ecommerce.cliente.paginacao.ContadorClientes;
+import com.ecommerce.cliente.paginacao.CursorClientes;
+import com.ecommerce.cliente.replicacao.ConfirmacaoPrimario;
+import com.ecommerce.cliente.replicacao.LeituraPropriaEscrita;
 import com.ecommerce.cliente.repositories.ClienteRepository;
 import com.ecommerce.cliente.validation.ClienteValidator;
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Cada método público registra o timer {@code clientes.servico}, com as tags {@code class} e {@code method}.
+ * O cache fica por fora do timer: acertos não chegam ao método e aparecem em {@code cache.camadas.acessos},
+ * então o timer mede as faltas e as escritas.
+ */
 @Service
+@Timed(value = "clientes.servico", histogram = true)
 public class ClienteService {
 
+    private static final int TAMANHO_MAXIMO_JANELA = 1000;
 
     private  ClienteRepository clienteRepository;
 
@@ -29,75 +52,246 @@ public class ClienteService {
 
     private  ClienteMapper clienteMapper;
 
-    public ClienteService(ClienteRepository clienteRepository, ClienteValidator clienteValidator, ClienteMapper clienteMapper) {
+    private  InvalidadorCacheClientes invalidadorCache;
+
+    private  LeituraPropriaEscrita leituraPropriaEscrita;
+
+    private  ContadorClientes contadorClientes;
+
+    private  EscritaAdiadaStatusService escritaAdiadaStatus;
+
+    private  MergePatchClientes mergePatchClientes;
+
+    private  RepeticaoOtimista repeticaoOtimista;
+
+    private  CpfsAusentes cpfsAusentes;
+
+    private  ConfirmacaoPrimario confirmacaoPrimario;
+
+    public ClienteService(ClienteRepository clienteRepository, ClienteValidator clienteValidator,
+                          ClienteMapper clienteMapper, InvalidadorCacheClientes invalidadorCache,
+                          LeituraPropriaEscrita leituraPropriaEscrita, ContadorClientes contadorClientes,
+                          EscritaAdiadaStatusService escritaAdiadaStatus, MergePatchClientes mergePatchClientes,
+                          RepeticaoOtimista repeticaoOtimista, CpfsAusentes cpfsAusentes,
+                          ConfirmacaoPrimario confirmacaoPrimario) {
         this.clienteRepository = clienteRepository;
         this.clienteValidator = clienteValidator;
         this.clienteMapper = clienteMapper;
+        this.invalidadorCache = invalidadorCache;
+        this.leituraPropriaEscrita = leituraPropriaEscrita;
+        this.contadorClientes = contadorClientes;
+        this.escritaAdiadaStatus = escritaAdiadaStatus;
+        this.mergePatchClientes = mergePatchClientes;
+        this.repeticaoOtimista = repeticaoOtimista;
+        this.cpfsAusentes = cpfsAusentes;
+        this.confirmacaoPrimario = confirmacaoPrimario;
     }
 
 
-    @CacheEvict(value = "clientes", allEntries = true)
     @Transactional
-    public ClienteModel registrarCliente(ClienteRecordDTO clienteDTO) {
-        clienteValidator.existePorCpf(clienteDTO.cpf());
-        clienteValidator.existePorEmail(clienteDTO.email());
+    public ClienteResponseRecordDTO registrarCliente(ClienteRecordDTO clienteDTO) {
+        clienteValidator.validarUnicidade(clienteDTO.cpf(), clienteDTO.email());
         var novoCliente = clienteMapper.clienteDTOParaModel(clienteDTO);
         var endereco = clienteMapper.enderecoDTOParaEndereco(clienteDTO.endereco());
         novoCliente.setEndereco(endereco);
-        return clienteRepository.save(novoCliente);
+        var clienteRegistrado = clienteRepository.save(novoCliente);
+        clienteValidator.registrarChaves(clienteRegistrado.getCpf(), clienteRegistrado.getEmail());
+        leituraPropriaEscrita.registrarEscrita(clienteRegistrado.getCpf());
+        invalidadorCache.invalidarCpf(clienteRegistrado.getCpf());
+        invalidadorCache.invalidarPaginas(clienteRegistrado.isAtivo());
+        return clienteMapper.clienteModelParaResponse(clienteRegistrado);
     }
 
-    @Cacheable(value = "clientes", key = "#paginado.pageNumber + '-' + #paginado.pageSize")
-    public Page<ClienteModel> buscarClientesAtivos(Pageable paginado) {
-        return clienteRepository.findByAtivoTrue(paginado);
+    @Transactional(readOnly = true)
+    @Cacheable(value = RegioesCache.PAGINAS_ATIVOS, sync = true, keyGenerator = "chaveCacheAtivos")
+    public Page<ClienteResponseRecordDTO> buscarClientesAtivos(Pageable paginado) {
+        return buscarPagina(true, paginado);
     }
 
-    @Cacheable(value = "clientes", key = "#cpf")
-    public ClienteModel buscarClienteAtivoPorCpf(String cpf) {
-        return clienteRepository.findByCpfAndAtivoTrue(cpf).orElseThrow(()->
-                new ResourceNotFoundException("Cliente com o CPF " + cpf + " não foi encontrado."));
+    @Transactional(readOnly = true)
+    public Page<ClienteResponseRecordDTO> buscarClientesAtivosComContagemExata(Pageable paginado) {
+        return clienteRepository.buscarPaginaPorStatus(true, paginado);
     }
 
-    @Cacheable(value = "clientes", key = "#paginado.pageNumber + '-' + #paginado.pageSize")
-    public Page<ClienteModel> buscarClientesInativos(Pageable paginado) {
-        return clienteRepository.findByAtivoFalse(paginado);
+    @Cacheable(value = RegioesCache.CPF_ATIVOS, sync = true, keyGenerator = "chaveCacheAtivos")
+    public ClienteResponseRecordDTO buscarClienteAtivoPorCpf(String cpf) {
+        return buscarPorCpf(cpf, true);
     }
 
-    @Cacheable(value = "clientes", key = "#cpf")
-    public ClienteModel buscarClienteInativoPorCpf(String cpf) {
-        return clienteRepository.findByCpfAndAtivoFalse(cpf).orElseThrow(()->
-                new ResourceNotFoundException("Cliente com o CPF " + cpf + " não foi encontrado."));
+    @Transactional(readOnly = true)
+    @Cacheable(value = RegioesCache.PAGINAS_INATIVOS, sync = true, keyGenerator = "chaveCacheInativos")
+    public Page<ClienteResponseRecordDTO> buscarClientesInativos(Pageable paginado) {
+        return buscarPagina(false, paginado);
     }
 
-   @CacheEvict(value = "clientes", allEntries = true)
-    @Transactional
-    public ClienteModel atualizarDadosCliente(UUID id, ClienteRecordDTO clienteDTO) {
-        var cliente = clienteRepository.findById(id)
-                .orElseThrow(()-> new ResourceNotFoundException("Cliente com o ID " + id
-                        + " não foi encontrado."));
+    @Transactional(readOnly = true)
+    public Page<ClienteResponseRecordDTO> buscarClientesInativosComContagemExata(Pageable paginado) {
+        return clienteRepository.buscarPaginaPorStatus(false, paginado);
+    }
 
-            BeanUtils.copyProperties(clienteDTO,cliente,"id");
-            return clienteRepository.save(cliente);
+    @Cacheable(value = RegioesCache.CPF_INATIVOS, sync = true, keyGenerator = "chaveCacheInativos")
+    public ClienteResponseRecordDTO buscarClienteInativoPorCpf(String cpf) {
+        return buscarPorCpf(cpf, false);
+    }
+
+    @Transactional(readOnly = true)
+    public JanelaClientesRecordDTO buscarClientesAtivosPorCursor(String cursor, int tamanho) {
+        return buscarJanela(true, cursor, tamanho);
+    }
+
+    @Transactional(readOnly = true)
+    public JanelaClientesRecordDTO buscarClientesInativosPorCursor(String cursor, int tamanho) {
+        return buscarJanela(false, cursor, tamanho);
+    }
+
+    /**
+     * Substitui os dados do cliente. Conflitos de versão com outra escrita são repetidos por
+     * {@link RepeticaoOtimista}; com {@code versaoEsperada} informada a escrita só acontece sobre essa versão.
+     */
+    public ClienteResponseRecordDTO atualizarDadosCliente(UUID id, ClienteRecordDTO clienteDTO, Long versaoEsperada) {
+        return repeticaoOtimista.executar("atualizacao", id, versaoEsperada, () -> {
+            var cliente = clienteRepository.findById(id)
+                    .orElseThrow(()-> new ResourceNotFoundException("Cliente com o ID " + id
+                            + " não foi encontrado."));
+            conferirVersao(cliente, versaoEsperada);
+
+            var cpfAnterior = cliente.getCpf();
+            BeanUtils.copyProperties(clienteDTO,cliente,"id", "versao");
+            var clienteAtualizado = clienteRepository.saveAndFlush(cliente);
+            registrarAtualizacao(cpfAnterior, clienteAtualizado);
+            return clienteMapper.clienteModelParaResponse(clienteAtualizado);
+        });
+    }
+
+    /**
+     * Atualiza só os campos presentes no merge patch. Com {@code @DynamicUpdate} o UPDATE leva apenas as
+     * colunas alteradas, e o flush imediato devolve a versão já incrementada para o ETag da resposta.
+     * Quando {@code versaoEsperada} é informada e difere da versão atual, nada é gravado.
+     */
+    public ClienteResponseRecordDTO atualizarParcialmenteCliente(UUID id, JsonNode patch, Long versaoEsperada) {
+        return repeticaoOtimista.executar("atualizacao-parcial", id, versaoEsperada, () -> {
+            var cliente = clienteRepository.findById(id)
+                    .orElseThrow(()-> new ResourceNotFoundException("Cliente com o ID " + id
+                            + " não foi encontrado."));
+            conferirVersao(cliente, versaoEsperada);
+
+            var dados = mergePatchClientes.aplicar(clienteMapper.clienteModelParaRecord(cliente), patch);
+            var cpfAnterior = cliente.getCpf();
+            cliente.setNome(dados.nome());
+            cliente.setDataNascimento(dados.dataNascimento());
+            cliente.setEmail(dados.email());
+            cliente.setCpf(dados.cpf());
+            cliente.setEndereco(clienteMapper.enderecoDTOParaEndereco(dados.endereco()));
+            var clienteAtualizado = clienteRepository.saveAndFlush(cliente);
+            registrarAtualizacao(cpfAnterior, clienteAtualizado);
+            return clienteMapper.clienteModelParaResponse(clienteAtualizado);
+        });
     }
 
-    @CacheEvict(value = "clientes", allEntries = true)
-    @Transactional
     public void alternarStatusCliente(UUID id, ClienteStatusRecordDTO clienteStatusDTO) {
-        var cliente = clienteRepository.findById(id)
-                .orElseThrow(()-> new ResourceNotFoundException("Cliente com o ID " + id
-                        + " não foi encontrado."));
+        repeticaoOtimista.executar("status", id, () -> {
+            var cliente = clienteRepository.findById(id)
+                    .orElseThrow(()-> new ResourceNotFoundException("Cliente com o ID " + id
+                            + " não foi encontrado."));
 
-        cliente.setAtivo(clienteStatusDTO.ativo());
+            if (cliente.isAtivo() == clienteStatusDTO.ativo()) {
+                return;
+            }
+            cliente.setAtivo(clienteStatusDTO.ativo());
             clienteRepository.save(cliente);
+            leituraPropriaEscrita.registrarEscrita(cliente.getCpf());
+            invalidadorCache.invalidarCpf(cliente.getCpf());
+            invalidadorCache.invalidarPaginas(true);
+            invalidadorCache.invalidarPaginas(false);
+        });
     }
 
-    @CacheEvict(value = "clientes", allEntries = true)
-    @Transactional
     public void deletarCliente(UUID id) {
-        var cliente = clienteRepository.findById(id)
-                .orElseThrow(()-> new ResourceNotFoundException("Cliente com o ID " + id
-                        + " não foi encontrado."));
+        repeticaoOtimista.executar("remocao", id, () -> {
+            var cliente = clienteRepository.findById(id)
+                    .orElseThrow(()-> new ResourceNotFoundException("Cliente com o ID " + id
+                            + " não foi encontrado."));
 
             clienteRepository.delete(cliente);
+            leituraPropriaEscrita.registrarEscrita(cliente.getCpf());
+            invalidadorCache.invalidarCpf(cliente.getCpf());
+            invalidadorCache.invalidarPaginas(cliente.isAtivo());
+        });
+    }
+
+    private void conferirVersao(ClienteModel cliente, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(cliente.getVersao())) {
+            throw new PreconditionFailedException("Cliente com o ID " + cliente.getId()
+                    + " foi alterado e está na versão " + cliente.getVersao() + ".");
+        }
+    }
+
+    private void registrarAtualizacao(String cpfAnterior, ClienteModel clienteAtualizado) {
+        clienteValidator.registrarChaves(clienteAtualizado.getCpf(), clienteAtualizado.getEmail());
+        leituraPropriaEscrita.registrarEscrita(cpfAnterior);
+        leituraPropriaEscrita.registrarEscrita(clienteAtualizado.getCpf());
+        invalidadorCache.invalidarCpf(cpfAnterior);
+        invalidadorCache.invalidarCpf(clienteAtualizado.getCpf());
+        invalidadorCache.invalidarPaginas(clienteAtualizado.isAtivo());
+    }
+
+    private void validarTamanhoJanela(int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_JANELA) {
+            throw new BadRequestException("Campo 'tamanho' deve estar entre 1 e " + TAMANHO_MAXIMO_JANELA + "!");
+        }
+    }
+
+    private Page<ClienteResponseRecordDTO> buscarPagina(boolean ativo, Pageable paginado) {
+        var fatia = clienteRepository.buscarFatiaPorStatus(ativo, paginado);
+        if (paginado.isUnpaged()) {
+            return new PageImpl<>(fatia.getContent(), paginado, fatia.getNumberOfElements());
+        }
+        var minimo = paginado.getOffset() + fatia.getNumberOfElements();
+        long total;
+        if (fatia.hasNext()) {
+            total = Math.max(contadorClientes.total(ativo), minimo + 1);
+        } else if (fatia.hasContent() || paginado.getOffset() == 0) {
+            total = minimo;
+        } else {
+            total = Math.min(contadorClientes.total(ativo), paginado.getOffset());
+        }
+        return new PageImpl<>(fatia.getContent(), paginado, total);
+    }
+
+    private ClienteResponseRecordDTO buscarPorCpf(String cpf, boolean ativo) {
+        var statusPendente = escritaAdiadaStatus.statusPendente(cpf);
+        Optional<ClienteResponseRecordDTO> cliente;
+        if (statusPendente.isEmpty()) {
+            cliente = confirmacaoPrimario.lerConfirmandoAusencia(leituraPropriaEscrita.isRecente(cpf), () ->
+                    clienteRepository.buscarPorCpfEStatus(cpf, ativo));
+        } else if (statusPendente.get() == ativo) {
+            cliente = confirmacaoPrimario.lerConfirmandoAusencia(false, () ->
+                    clienteRepository.buscarPorCpf(cpf).map(encontrado -> encontrado.comAtivo(ativo)));
+        } else {
+            cliente = Optional.empty();
+        }
+        if (cliente.isEmpty()) {
+            cpfsAusentes.registrar(ativo, cpf);
+            throw CpfsAusentes.naoEncontrado(cpf);
+        }
+        return cliente.get();
+    }
+
+    private JanelaClientesRecordDTO buscarJanela(boolean ativo, String cursor, int tamanho) {
+        validarTamanhoJanela(tamanho);
+        var posicao = CursorClientes.decodificar(cursor);
+        var clientes = posicao == null
+                ? clienteRepository.buscarJanelaInicial(ativo, Limit.of(tamanho + 1))
+                : clienteRepository.buscarJanelaApos(ativo, posicao.dataNascimento(), posicao.id(),
+                        Limit.of(tamanho + 1));
+
+        var temProxima = clientes.size() > tamanho;
+        var conteudo = temProxima ? clientes.subList(0, tamanho) : clientes;
+        String proximoCursor = null;
+        if (temProxima) {
+            var ultimo = conteudo.get(conteudo.size() - 1);
+            proximoCursor = new CursorClientes(ultimo.dataNascimento(), ultimo.id()).codificar();
+        }
+        return new JanelaClientesRecordDTO(conteudo, conteudo.size(), temProxima, proximoCursor);
     }
-}
\ No newline at end of file
+}
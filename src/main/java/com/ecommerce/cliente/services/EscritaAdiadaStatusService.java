@@ -0,0 +1,290 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.cache.InvalidadorCacheClientes;
+import com.ecommerce.cliente.escrita.DiarioStatusClientes;
+import com.ecommerce.cliente.escrita.StatusPendente;
+import com.ecommerce.cliente.exceptions.ResourceNotFoundException;
+import com.ecommerce.cliente.replicacao.RoteamentoLeitura;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Modo opcional de escrita adiada para as trocas de status. A troca é gravada no diário em disco, coalescida
+ * por ID (vale a última) e aplicada periodicamente em lotes de {@code UPDATE ... WHERE id IN (...)}, com
+ * uma invalidação de páginas por lote em vez de uma por troca. Até a descarga, as buscas por CPF enxergam o
+ * status pendente por {@link #statusPendente(String)}. Trocas que estavam no diário quando a aplicação caiu são
+ * relidas na construção, antes de qualquer requisição ou descarga.
+ * <p>
+ * A gravação no diário é em grupo: cada troca entra numa fila e quem pega a trava grava e força de uma vez tudo o
+ * que estiver na fila, liberando também quem esperava. Enquanto um {@code force} roda, as trocas que chegam se
+ * acumulam para o próximo, então o número de sincronizações com o disco não cresce com a concorrência.
+ */
+@Service
+public class EscritaAdiadaStatusService {
+
+    private static final Logger log = LoggerFactory.getLogger(EscritaAdiadaStatusService.class);
+
+    private final ClienteRepository clienteRepository;
+
+    private final InvalidadorCacheClientes invalidadorCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean habilitado;
+
+    private final int tamanhoLote;
+
+    private final DiarioStatusClientes diario;
+
+    private final ReentrantLock trava = new ReentrantLock();
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private final ConcurrentMap<String, StatusPendente> pendentesPorCpf = new ConcurrentHashMap<>();
+
+    private final Queue<GravacaoPendente> fila = new ConcurrentLinkedQueue<>();
+
+    private final Counter aplicados;
+
+    private volatile Map<UUID, StatusPendente> pendentes = new ConcurrentHashMap<>();
+
+    private volatile Map<UUID, StatusPendente> emDescarga = Map.of();
+
+    public EscritaAdiadaStatusService(ClienteRepository clienteRepository, InvalidadorCacheClientes invalidadorCache,
+                                      PlatformTransactionManager transactionManager, MeterRegistry registry,
+                                      @Value("${clientes.status.escrita-adiada.habilitado}") boolean habilitado,
+                                      @Value("${clientes.status.escrita-adiada.tamanho-lote}") int tamanhoLote,
+                                      @Value("${clientes.status.escrita-adiada.diretorio}") String diretorio) {
+        this.clienteRepository = clienteRepository;
+        this.invalidadorCache = invalidadorCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.diario = habilitado ? new DiarioStatusClientes(Path.of(diretorio)) : null;
+        if (habilitado) {
+            recuperar();
+        }
+        this.aplicados = Counter.builder("clientes.status.aplicados").register(registry);
+        Gauge.builder("clientes.status.pendentes", this, servico -> servico.pendentes.size())
+                .register(registry);
+        Gauge.builder("clientes.status.atraso", this, EscritaAdiadaStatusService::atrasoEmSegundos)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Registra a troca sem comparar com o status atual: a comparação leria um valor que pode estar atrasado (réplica,
+     * troca ainda na fila ou já descarregada) e descartaria a última escrita. Trocas para o status que o cliente já
+     * tem são filtradas pelo próprio {@code UPDATE} da descarga. O CPF é lido no primário para que um cliente
+     * recém-cadastrado não responda 404.
+     */
+    public void alternarStatus(UUID id, boolean ativo) {
+        var cliente = RoteamentoLeitura.noPrimarioSe(true, () -> clienteRepository.buscarCpfEStatusPorId(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente com o ID " + id
+                        + " não foi encontrado."));
+
+        var novo = new StatusPendente(sequencia.incrementAndGet(), id, cliente.cpf(), ativo,
+                System.currentTimeMillis());
+        var gravacao = new GravacaoPendente(novo, new CompletableFuture<>());
+        fila.add(gravacao);
+        trava.lock();
+        try {
+            if (!gravacao.gravada().isDone()) {
+                gravarFila();
+            }
+        } finally {
+            trava.unlock();
+        }
+        try {
+            gravacao.gravada().join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw exception;
+        }
+        invalidadorCache.invalidarCpf(cliente.cpf());
+    }
+
+    public Optional<Boolean> statusPendente(String cpf) {
+        return Optional.ofNullable(pendentesPorCpf.get(cpf)).map(StatusPendente::ativo);
+    }
+
+    @Scheduled(fixedDelayString = "${clientes.status.escrita-adiada.intervalo-descarga}")
+    public void descarregar() {
+        if (!habilitado) {
+            return;
+        }
+        Map<UUID, StatusPendente> lote;
+        trava.lock();
+        try {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+            lote = pendentes;
+            emDescarga = lote;
+            pendentes = new ConcurrentHashMap<>();
+            diario.rotacionar();
+        } finally {
+            trava.unlock();
+        }
+
+        try {
+            aplicar(lote.values());
+        } catch (RuntimeException exception) {
+            log.warn("Falha ao aplicar {} trocas de status, tentando novamente na próxima descarga",
+                    lote.size(), exception);
+            devolver(lote.values());
+            return;
+        } finally {
+            emDescarga = Map.of();
+        }
+
+        trava.lock();
+        try {
+            diario.concluirDescarga();
+        } finally {
+            trava.unlock();
+        }
+        for (var pendente : lote.values()) {
+            pendentesPorCpf.remove(pendente.cpf(), pendente);
+            invalidadorCache.invalidarCpf(pendente.cpf());
+        }
+        invalidadorCache.invalidarPaginas(true);
+        invalidadorCache.invalidarPaginas(false);
+        aplicados.increment(lote.size());
+    }
+
+    @PreDestroy
+    public void encerrar() throws Exception {
+        if (!habilitado) {
+            return;
+        }
+        descarregar();
+        diario.close();
+    }
+
+    private void recuperar() {
+        var recuperados = coalescer(diario.recuperar());
+        for (var pendente : recuperados.values()) {
+            sequencia.accumulateAndGet(pendente.sequencia(), Math::max);
+            pendentes.put(pendente.id(), pendente);
+            pendentesPorCpf.merge(pendente.cpf(), pendente, EscritaAdiadaStatusService::maisRecente);
+        }
+        diario.compactar(recuperados.values());
+        if (!recuperados.isEmpty()) {
+            log.info("{} trocas de status recuperadas do diário", recuperados.size());
+        }
+    }
+
+    /**
+     * Grava e força no diário tudo o que está na fila e só então torna as trocas visíveis. Roda com a trava, então
+     * nenhuma rotação separa a troca gravada do mapa em que ela entra.
+     */
+    private void gravarFila() {
+        List<GravacaoPendente> grupo = new ArrayList<>();
+        for (var gravacao = fila.poll(); gravacao != null; gravacao = fila.poll()) {
+            grupo.add(gravacao);
+        }
+        if (grupo.isEmpty()) {
+            return;
+        }
+        try {
+            diario.registrar(grupo.stream().map(GravacaoPendente::status).toList());
+        } catch (RuntimeException exception) {
+            grupo.forEach(gravacao -> gravacao.gravada().completeExceptionally(exception));
+            return;
+        }
+        for (var gravacao : grupo) {
+            var novo = gravacao.status();
+            pendentes.merge(novo.id(), novo, EscritaAdiadaStatusService::maisRecente);
+            pendentesPorCpf.merge(novo.cpf(), novo, EscritaAdiadaStatusService::maisRecente);
+            gravacao.gravada().complete(null);
+        }
+    }
+
+    private void aplicar(Collection<StatusPendente> lote) {
+        var idsPorStatus = lote.stream().collect(Collectors.partitioningBy(StatusPendente::ativo,
+                Collectors.mapping(StatusPendente::id, Collectors.toList())));
+        transactionTemplate.executeWithoutResult(status -> idsPorStatus.forEach((ativo, ids) -> {
+            for (var bloco : Lists.partition(ids, tamanhoLote)) {
+                clienteRepository.atualizarStatus(ativo, bloco);
+            }
+        }));
+    }
+
+    private void devolver(Collection<StatusPendente> lote) {
+        trava.lock();
+        try {
+            List<StatusPendente> devolvidos = new ArrayList<>();
+            for (var pendente : lote) {
+                if (pendentes.merge(pendente.id(), pendente, EscritaAdiadaStatusService::maisRecente) == pendente) {
+                    devolvidos.add(pendente);
+                }
+            }
+            diario.registrar(devolvidos);
+            diario.concluirDescarga();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private double atrasoEmSegundos() {
+        var agora = System.currentTimeMillis();
+        var maisAntigo = agora;
+        for (var mapa : List.of(emDescarga, pendentes)) {
+            for (var pendente : mapa.values()) {
+                maisAntigo = Math.min(maisAntigo, pendente.enfileiradoEm());
+            }
+        }
+        return (agora - maisAntigo) / 1000.0;
+    }
+
+    private static Map<UUID, StatusPendente> coalescer(List<StatusPendente> trocas) {
+        Map<UUID, StatusPendente> coalescidos = new HashMap<>();
+        for (var troca : trocas) {
+            coalescidos.merge(troca.id(), troca, EscritaAdiadaStatusService::maisRecente);
+        }
+        return coalescidos;
+    }
+
+    private static StatusPendente maisRecente(StatusPendente atual, StatusPendente outro) {
+        return atual.sequencia() >= outro.sequencia() ? atual : outro;
+    }
+
+    private record GravacaoPendente(StatusPendente status, CompletableFuture<Void> gravada) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.ecommerce.cliente.dtos.FiltroExportacaoRecordDTO;
+import com.ecommerce.cliente.enums.FormatoExportacao;
+import com.ecommerce.cliente.exceptions.BadRequestException;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class ExportacaoClienteService {
+
+    private static final int INTERVALO_DESCARGA = 500;
+
+    private static final String CABECALHO_CSV =
+            "id,nome,dataNascimento,email,cpf,logradouro,numero,bairro,cidade,estado,cep,ativo";
+
+    private final ClienteRepository clienteRepository;
+
+    private final ObjectWriter escritorJson;
+
+    public ExportacaoClienteService(ClienteRepository clienteRepository, ObjectMapper objectMapper) {
+        this.clienteRepository = clienteRepository;
+        this.escritorJson = objectMapper.writerFor(ClienteResponseRecordDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public void validarFiltro(FiltroExportacaoRecordDTO filtro) {
+        if (filtro.dataNascimentoInicio() != null && filtro.dataNascimentoFim() != null
+                && filtro.dataNascimentoInicio().isAfter(filtro.dataNascimentoFim())) {
+            throw new BadRequestException("Campo 'dataNascimentoInicio' não pode ser posterior a 'dataNascimentoFim'!");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarClientes(FiltroExportacaoRecordDTO filtro, FormatoExportacao formato,
+                                 OutputStream saida) throws IOException {
+        var escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 16 * 1024);
+        if (formato == FormatoExportacao.CSV) {
+            escritor.write(CABECALHO_CSV);
+            escritor.write('\n');
+        }
+
+        long exportados = 0;
+        try (var clientes = clienteRepository.streamParaExportacao(filtro.ativo(),
+                filtro.dataNascimentoInicio(), filtro.dataNascimentoFim())) {
+            var iterador = clientes.iterator();
+            while (iterador.hasNext()) {
+                var cliente = iterador.next();
+                if (formato == FormatoExportacao.CSV) {
+                    escreverCsv(escritor, cliente);
+                } else {
+                    escritorJson.writeValue(escritor, cliente);
+                }
+                escritor.write('\n');
+
+                if (++exportados % INTERVALO_DESCARGA == 0) {
+                    escritor.flush();
+                }
+            }
+        }
+        escritor.flush();
+        return exportados;
+    }
+
+    private void escreverCsv(Writer escritor, ClienteResponseRecordDTO cliente) throws IOException {
+        var endereco = cliente.endereco();
+        escritor.write(String.valueOf(cliente.id()));
+        escritor.write(',');
+        escreverCampoCsv(escritor, cliente.nome());
+        escritor.write(',');
+        escritor.write(String.valueOf(cliente.dataNascimento()));
+        escritor.write(',');
+        escreverCampoCsv(escritor, cliente.email());
+        escritor.write(',');
+        escreverCampoCsv(escritor, cliente.cpf());
+        escritor.write(',');
+        escreverCampoCsv(escritor, endereco != null ? endereco.logradouro() : null);
+        escritor.write(',');
+        escreverCampoCsv(escritor, endereco != null ? endereco.numero() : null);
+        escritor.write(',');
+        escreverCampoCsv(escritor, endereco != null ? endereco.bairro() : null);
+        escritor.write(',');
+        escreverCampoCsv(escritor, endereco != null ? endereco.cidade() : null);
+        escritor.write(',');
+        escreverCampoCsv(escritor, endereco != null ? endereco.estado() : null);
+        escritor.write(',');
+        escreverCampoCsv(escritor, endereco != null ? endereco.cep() : null);
+        escritor.write(',');
+        escritor.write(String.valueOf(cliente.ativo()));
+    }
+
+    private void escreverCampoCsv(Writer escritor, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+}
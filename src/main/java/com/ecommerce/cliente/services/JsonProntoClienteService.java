@@ -0,0 +1,80 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.cache.ChaveCacheClientes;
+import com.ecommerce.cliente.cache.JsonClientePronto;
+import com.ecommerce.cliente.cache.RegioesCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Modo opcional em que a busca por CPF guarda no cache o JSON final da resposta, comprimido com gzip se
+ * configurado. Num acerto os bytes vão direto para a resposta, sem materializar o cliente nem passar pelo
+ * Jackson. Numa falta, carregada uma única vez por chave, o cliente vem do {@link ClienteService}, que ainda usa
+ * o cache de objetos, e o JSON montado é guardado nas regiões {@code clientes-*-cpf-json}, invalidadas junto com
+ * as de objetos.
+ */
+@Service
+public class JsonProntoClienteService {
+
+    private final ClienteService clienteService;
+
+    private final CacheManager cacheManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean habilitado;
+
+    private final boolean gzip;
+
+    public JsonProntoClienteService(ClienteService clienteService, CacheManager cacheManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${clientes.cache.json-pronto.habilitado}") boolean habilitado,
+                                    @Value("${clientes.cache.json-pronto.gzip}") boolean gzip) {
+        this.clienteService = clienteService;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.gzip = gzip;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public JsonClientePronto buscarClienteAtivoPorCpf(String cpf) {
+        return buscarPorCpf(true, cpf);
+    }
+
+    public JsonClientePronto buscarClienteInativoPorCpf(String cpf) {
+        return buscarPorCpf(false, cpf);
+    }
+
+    private JsonClientePronto buscarPorCpf(boolean ativo, String cpf) {
+        var cache = cacheManager.getCache(RegioesCache.jsonCpf(ativo));
+        if (cache == null) {
+            return montar(ativo, cpf);
+        }
+        try {
+            return cache.get(ChaveCacheClientes.chaveCpf(ativo, cpf), () -> montar(ativo, cpf));
+        } catch (Cache.ValueRetrievalException exception) {
+            if (exception.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw exception;
+        }
+    }
+
+    private JsonClientePronto montar(boolean ativo, String cpf) {
+        var cliente = ativo ? clienteService.buscarClienteAtivoPorCpf(cpf)
+                : clienteService.buscarClienteInativoPorCpf(cpf);
+        try {
+            return JsonClientePronto.de(cliente.id(), cliente.versao(), objectMapper.writeValueAsBytes(cliente), gzip);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Falha ao serializar o cliente com CPF " + cpf, exception);
+        }
+    }
+}
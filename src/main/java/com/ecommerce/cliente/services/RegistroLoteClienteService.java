@@ -0,0 +1,194 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.cache.InvalidadorCacheClientes;
+import com.ecommerce.cliente.dtos.ChavesClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ResultadoItemLoteRecordDTO;
+import com.ecommerce.cliente.dtos.ResultadoLoteRecordDTO;
+import com.ecommerce.cliente.enums.StatusItemLote;
+import com.ecommerce.cliente.exceptions.BadRequestException;
+import com.ecommerce.cliente.mappers.ClienteMapper;
+import com.ecommerce.cliente.models.ClienteModel;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import com.ecommerce.cliente.validation.FiltroUnicidadeClientes;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class RegistroLoteClienteService {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroLoteClienteService.class);
+
+    private final ClienteRepository clienteRepository;
+
+    private final ClienteMapper clienteMapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final InvalidadorCacheClientes invalidadorCache;
+
+    private final FiltroUnicidadeClientes filtroUnicidade;
+
+    private final int tamanhoMaximo;
+
+    private final int tamanhoBloco;
+
+    public RegistroLoteClienteService(ClienteRepository clienteRepository, ClienteMapper clienteMapper,
+                                      Validator validator, PlatformTransactionManager transactionManager,
+                                      InvalidadorCacheClientes invalidadorCache,
+                                      FiltroUnicidadeClientes filtroUnicidade,
+                                      @Value("${clientes.lote.tamanho-maximo}") int tamanhoMaximo,
+                                      @Value("${clientes.lote.tamanho-bloco}") int tamanhoBloco) {
+        this.clienteRepository = clienteRepository;
+        this.clienteMapper = clienteMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.invalidadorCache = invalidadorCache;
+        this.filtroUnicidade = filtroUnicidade;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    public ResultadoLoteRecordDTO registrarClientes(List<ClienteRecordDTO> clientesDTO) {
+        if (clientesDTO == null || clientesDTO.isEmpty()) {
+            throw new BadRequestException("O lote de clientes não pode estar vazio!");
+        }
+        if (clientesDTO.size() > tamanhoMaximo) {
+            throw new BadRequestException("O lote de clientes não pode ter mais de " + tamanhoMaximo + " itens!");
+        }
+
+        var resultados = new ResultadoItemLoteRecordDTO[clientesDTO.size()];
+        Set<String> cpfsDoLote = new HashSet<>();
+        Set<String> emailsDoLote = new HashSet<>();
+
+        for (int inicio = 0; inicio < clientesDTO.size(); inicio += tamanhoBloco) {
+            var fim = Math.min(inicio + tamanhoBloco, clientesDTO.size());
+            registrarBloco(clientesDTO, inicio, fim, resultados, cpfsDoLote, emailsDoLote);
+        }
+
+        var itens = Arrays.asList(resultados);
+        var registrados = (int) itens.stream().filter(item -> item.status() == StatusItemLote.REGISTRADO).count();
+        if (registrados > 0) {
+            invalidadorCache.invalidarPaginas(true);
+            invalidadorCache.invalidarAusencias();
+        }
+        return new ResultadoLoteRecordDTO(itens.size(), registrados, itens.size() - registrados, itens);
+    }
+
+    private void registrarBloco(List<ClienteRecordDTO> clientesDTO, int inicio, int fim,
+                                ResultadoItemLoteRecordDTO[] resultados,
+                                Set<String> cpfsDoLote, Set<String> emailsDoLote) {
+        List<Integer> candidatos = new ArrayList<>();
+        for (int indice = inicio; indice < fim; indice++) {
+            var clienteDTO = clientesDTO.get(indice);
+            var erros = validar(clienteDTO);
+            if (!erros.isEmpty()) {
+                resultados[indice] = rejeitado(indice, clienteDTO, StatusItemLote.INVALIDO, erros);
+                continue;
+            }
+            var conflitos = new ArrayList<String>();
+            if (!cpfsDoLote.add(clienteDTO.cpf())) {
+                conflitos.add("CPF " + clienteDTO.cpf() + " repetido no lote!");
+            }
+            if (!emailsDoLote.add(clienteDTO.email())) {
+                conflitos.add("E-mail " + clienteDTO.email() + " repetido no lote!");
+            }
+            if (!conflitos.isEmpty()) {
+                resultados[indice] = rejeitado(indice, clienteDTO, StatusItemLote.CONFLITO, conflitos);
+                continue;
+            }
+            candidatos.add(indice);
+        }
+        if (candidatos.isEmpty()) {
+            return;
+        }
+
+        var suspeitos = candidatos.stream()
+                .map(clientesDTO::get)
+                .filter(clienteDTO -> filtroUnicidade.podeExistir(clienteDTO.cpf(), clienteDTO.email()))
+                .toList();
+        Set<String> cpfsExistentes = new HashSet<>();
+        Set<String> emailsExistentes = new HashSet<>();
+        if (!suspeitos.isEmpty()) {
+            var cpfs = suspeitos.stream().map(ClienteRecordDTO::cpf).toList();
+            var emails = suspeitos.stream().map(ClienteRecordDTO::email).toList();
+            for (var chaves : clienteRepository.findChavesExistentes(cpfs, emails)) {
+                cpfsExistentes.add(chaves.cpf());
+                emailsExistentes.add(chaves.email());
+            }
+        }
+
+        List<Integer> aRegistrar = new ArrayList<>();
+        List<ClienteModel> novosClientes = new ArrayList<>();
+        for (var indice : candidatos) {
+            var clienteDTO = clientesDTO.get(indice);
+            var conflitos = new ArrayList<String>();
+            if (cpfsExistentes.contains(clienteDTO.cpf())) {
+                conflitos.add("CPF " + clienteDTO.cpf() + " já cadastrado!");
+            }
+            if (emailsExistentes.contains(clienteDTO.email())) {
+                conflitos.add("E-mail " + clienteDTO.email() + " já cadastrado!");
+            }
+            if (!conflitos.isEmpty()) {
+                resultados[indice] = rejeitado(indice, clienteDTO, StatusItemLote.CONFLITO, conflitos);
+                continue;
+            }
+            var novoCliente = clienteMapper.clienteDTOParaModel(clienteDTO);
+            novoCliente.setEndereco(clienteMapper.enderecoDTOParaEndereco(clienteDTO.endereco()));
+            novosClientes.add(novoCliente);
+            aRegistrar.add(indice);
+        }
+        if (novosClientes.isEmpty()) {
+            return;
+        }
+
+        try {
+            var registrados = transactionTemplate.execute(status -> clienteRepository.saveAll(novosClientes));
+            for (int i = 0; i < aRegistrar.size(); i++) {
+                var indice = aRegistrar.get(i);
+                resultados[indice] = new ResultadoItemLoteRecordDTO(indice, clientesDTO.get(indice).cpf(),
+                        StatusItemLote.REGISTRADO, registrados.get(i).getId(), List.of());
+            }
+            filtroUnicidade.registrarTodos(registrados.stream()
+                    .map(cliente -> new ChavesClienteRecordDTO(cliente.getCpf(), cliente.getEmail()))
+                    .toList());
+        } catch (DataIntegrityViolationException exception) {
+            log.warn("Conflito de unicidade ao inserir o bloco de clientes {} a {}", inicio, fim - 1, exception);
+            for (var indice : aRegistrar) {
+                resultados[indice] = rejeitado(indice, clientesDTO.get(indice), StatusItemLote.ERRO,
+                        List.of("Conflito concorrente de CPF ou e-mail ao inserir o bloco, reenvie o item."));
+            }
+        }
+    }
+
+    private List<String> validar(ClienteRecordDTO clienteDTO) {
+        if (clienteDTO == null) {
+            return List.of("Cliente não pode ser nulo!");
+        }
+        return validator.validate(clienteDTO).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    private ResultadoItemLoteRecordDTO rejeitado(int indice, ClienteRecordDTO clienteDTO, StatusItemLote status,
+                                                List<String> erros) {
+        return new ResultadoItemLoteRecordDTO(indice, clienteDTO != null ? clienteDTO.cpf() : null,
+                status, null, erros);
+    }
+}
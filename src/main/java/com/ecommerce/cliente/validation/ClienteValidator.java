@@ -2,30 +2,40 @@ package com.ecommerce.cliente.validation;
 
 import com.ecommerce.cliente.exceptions.ConflictException;
 import com.ecommerce.cliente.repositories.ClienteRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
+@Observed(name = "clientes.validacao")
 public class ClienteValidator {
 
     private  ClienteRepository clienteRepository;
 
-    public ClienteValidator(ClienteRepository clienteRepository) {
-        this.clienteRepository = clienteRepository;
-    }
+    private  FiltroUnicidadeClientes filtroUnicidade;
 
-    public void existePorCpf(String cpf){
-       if (clienteRepository.existsByCpf(cpf)){
-           throw new ConflictException("CPF " + cpf
-                   + " já cadastrado!");
-       }
+    public ClienteValidator(ClienteRepository clienteRepository, FiltroUnicidadeClientes filtroUnicidade) {
+        this.clienteRepository = clienteRepository;
+        this.filtroUnicidade = filtroUnicidade;
     }
 
-    public void existePorEmail(String email){
-        if (clienteRepository.existsByEmail(email)){
+    public void validarUnicidade(String cpf, String email) {
+        if (!filtroUnicidade.podeExistir(cpf, email)) {
+            return;
+        }
+        var existentes = clienteRepository.findChavesExistentes(List.of(cpf), List.of(email));
+        if (existentes.stream().anyMatch(chaves -> cpf.equals(chaves.cpf()))) {
+            throw new ConflictException("CPF " + cpf
+                    + " já cadastrado!");
+        }
+        if (existentes.stream().anyMatch(chaves -> email.equals(chaves.email()))) {
             throw new ConflictException("E-mail " + email
                     + " já cadastrado!");
         }
+    }
 
+    public void registrarChaves(String cpf, String email) {
+        filtroUnicidade.registrar(cpf, email);
     }
 }
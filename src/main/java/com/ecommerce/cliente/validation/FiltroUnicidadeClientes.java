@@ -0,0 +1,193 @@
+package com.ecommerce.cliente.validation;
+
+import com.ecommerce.cliente.dtos.ChavesClienteRecordDTO;
+import com.ecommerce.cliente.replicacao.RoteamentoLeitura;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pré-checagem em memória de CPFs e e-mails já cadastrados. Uma resposta negativa do filtro de Bloom
+ * é definitiva e dispensa a consulta ao banco; uma positiva pode ser falso positivo e segue para a
+ * consulta. Os filtros são reconstruídos a partir do banco na subida e periodicamente, e as novas chaves
+ * são propagadas às demais instâncias pelo Redis. Enquanto o filtro não está pronto toda checagem vai
+ * ao banco, e a restrição de unicidade da tabela continua sendo a garantia final contra corridas.
+ * A reconstrução lê do primário, já que uma réplica atrasada deixaria de fora chaves recém-cadastradas, e as
+ * chaves adicionadas enquanto ela corre são guardadas e repassadas ao filtro novo na troca.
+ */
+@Component
+public class FiltroUnicidadeClientes implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroUnicidadeClientes.class);
+
+    private static final String SEPARADOR = "\n";
+
+    private final ClienteRepository clienteRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final long insercoesEsperadas;
+
+    private final double taxaFalsoPositivo;
+
+    private final String canal;
+
+    private final String idInstancia = UUID.randomUUID().toString();
+
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+
+    private final Object troca = new Object();
+
+    private volatile Filtros filtros;
+
+    private List<String[]> pendentes;
+
+    public FiltroUnicidadeClientes(ClienteRepository clienteRepository, PlatformTransactionManager transactionManager,
+                                   StringRedisTemplate redisTemplate,
+                                   @Value("${clientes.unicidade.bloom.insercoes-esperadas}") long insercoesEsperadas,
+                                   @Value("${clientes.unicidade.bloom.taxa-falso-positivo}") double taxaFalsoPositivo,
+                                   @Value("${clientes.unicidade.canal}") String canal) {
+        this.clienteRepository = clienteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.redisTemplate = redisTemplate;
+        this.insercoesEsperadas = insercoesEsperadas;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.canal = canal;
+    }
+
+    public boolean isPronto() {
+        return filtros != null;
+    }
+
+    public boolean podeExistir(String cpf, String email) {
+        var atuais = filtros;
+        return atuais == null || atuais.cpfs().mightContain(cpf) || atuais.emails().mightContain(email);
+    }
+
+    public void registrar(String cpf, String email) {
+        registrarTodos(List.of(new ChavesClienteRecordDTO(cpf, email)));
+    }
+
+    public void registrarTodos(Collection<ChavesClienteRecordDTO> chaves) {
+        if (chaves.isEmpty()) {
+            return;
+        }
+        var mensagem = new StringBuilder(idInstancia);
+        for (var chave : chaves) {
+            adicionarLocal(chave.cpf(), chave.email());
+            mensagem.append(SEPARADOR).append(chave.cpf()).append(SEPARADOR).append(chave.email());
+        }
+        try {
+            redisTemplate.convertAndSend(canal, mensagem.toString());
+        } catch (RuntimeException exception) {
+            log.warn("Falha ao propagar chaves de unicidade no canal {}", canal, exception);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${clientes.unicidade.bloom.intervalo-reconstrucao}",
+            fixedDelayString = "${clientes.unicidade.bloom.intervalo-reconstrucao}")
+    public void reconstruir() {
+        reconstrucao.lock();
+        var inicio = System.nanoTime();
+        synchronized (troca) {
+            pendentes = new ArrayList<>();
+        }
+        try {
+            var novos = RoteamentoLeitura.noPrimarioSe(true, () -> {
+                var construidos = novosFiltros(Math.max(insercoesEsperadas, clienteRepository.count() * 2));
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (var chaves = clienteRepository.streamChaves()) {
+                        chaves.forEach(chave -> construidos.adicionar(chave.cpf(), chave.email()));
+                    }
+                });
+                return construidos;
+            });
+            synchronized (troca) {
+                for (var pendente : pendentes) {
+                    novos.adicionar(pendente[0], pendente[1]);
+                }
+                filtros = novos;
+            }
+            log.info("Filtro de unicidade reconstruído em {} ms", (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException exception) {
+            log.warn("Falha ao reconstruir o filtro de unicidade, mantendo o filtro anterior", exception);
+        } finally {
+            synchronized (troca) {
+                pendentes = null;
+            }
+            reconstrucao.unlock();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var partes = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARADOR);
+        if (idInstancia.equals(partes[0])) {
+            return;
+        }
+        for (int i = 1; i + 1 < partes.length; i += 2) {
+            adicionarLocal(partes[i], partes[i + 1]);
+        }
+    }
+
+    public String getCanal() {
+        return canal;
+    }
+
+    /**
+     * Sob a mesma trava da troca: a chave ou entra na lista repassada ao filtro novo, ou chega depois da troca e
+     * vai direto para ele.
+     */
+    private void adicionarLocal(String cpf, String email) {
+        synchronized (troca) {
+            var atuais = filtros;
+            if (atuais != null) {
+                atuais.adicionar(cpf, email);
+            }
+            if (pendentes != null) {
+                pendentes.add(new String[]{cpf, email});
+            }
+        }
+    }
+
+    private Filtros novosFiltros(long insercoes) {
+        return new Filtros(
+                BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), insercoes, taxaFalsoPositivo),
+                BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), insercoes, taxaFalsoPositivo));
+    }
+
+    private record Filtros(BloomFilter<CharSequence> cpfs, BloomFilter<CharSequence> emails) {
+
+        void adicionar(String cpf, String email) {
+            if (cpf != null) {
+                cpfs.put(cpf);
+            }
+            if (email != null) {
+                emails.put(email);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- Esquema inicial, equivalente ao que o ddl-auto=update gerava a partir de ClienteModel.
+-- Bancos criados antes das migrações já têm a tabela e entram pelo baseline na versão 1.
+create table clientes (
+    id              uuid         not null,
+    nome            varchar(255) not null,
+    data_nascimento date         not null,
+    email           varchar(255) not null,
+    cpf             varchar(255) not null,
+    logradouro      varchar(255) not null,
+    numero          varchar(255) not null,
+    bairro          varchar(255) not null,
+    cidade          varchar(255) not null,
+    estado          varchar(255) not null,
+    cep             varchar(255) not null,
+    ativo           boolean      not null default true,
+    constraint pk_clientes primary key (id),
+    constraint uk_clientes_email unique (email),
+    constraint uk_clientes_cpf unique (cpf)
+);
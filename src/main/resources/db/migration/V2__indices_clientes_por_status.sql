@@ -0,0 +1,14 @@
+-- Listagens e janelas por cursor filtram por ativo e ordenam por (data_nascimento, id): um índice parcial
+-- por status atende o filtro, a ordenação e a contagem da página sem ler as linhas do outro status.
+-- As buscas por CPF e status projetam todas as colunas do DTO, então o índice de CPF as inclui para
+-- permitir index-only scan. CONCURRENTLY evita bloquear escritas em tabelas já populadas; o Flyway
+-- executa esta migração fora de transação.
+create index concurrently if not exists idx_clientes_ativos_nascimento
+    on clientes (data_nascimento, id) where ativo;
+
+create index concurrently if not exists idx_clientes_inativos_nascimento
+    on clientes (data_nascimento, id) where not ativo;
+
+create index concurrently if not exists idx_clientes_cpf_status
+    on clientes (cpf, ativo)
+    include (id, nome, data_nascimento, email, logradouro, numero, bairro, cidade, estado, cep);
@@ -0,0 +1,47 @@
+-- Totais por status mantidos por trigger, para que as listagens paginadas não precisem de count(*).
+-- Cada status é dividido em 16 fatias e cada escrita incrementa uma fatia aleatória: inserções concorrentes
+-- raramente disputam a mesma linha, e a leitura soma as fatias do status.
+-- A trava bloqueia escritas em clientes (de instâncias antigas ainda no ar durante o deploy) até o fim da
+-- migração: sem ela, o que fosse gravado entre a contagem inicial e a criação dos triggers ficaria de fora
+-- dos totais para sempre. Leituras continuam liberadas.
+lock table clientes in share row exclusive mode;
+
+create table contagem_clientes (
+    ativo boolean  not null,
+    fatia smallint not null,
+    total bigint   not null default 0,
+    constraint pk_contagem_clientes primary key (ativo, fatia)
+);
+
+insert into contagem_clientes (ativo, fatia, total)
+select status.ativo, fatias.fatia,
+       case when fatias.fatia = 0 then (select count(*) from clientes c where c.ativo = status.ativo) else 0 end
+from (values (true), (false)) as status (ativo)
+cross join generate_series(0, 15) as fatias (fatia);
+
+create function atualizar_contagem_clientes() returns trigger
+    language plpgsql as
+$$
+declare
+    fatia_sorteada smallint := floor(random() * 16)::smallint;
+begin
+    if tg_op in ('INSERT', 'UPDATE') then
+        update contagem_clientes set total = total + 1
+        where ativo = new.ativo and fatia = fatia_sorteada;
+    end if;
+    if tg_op in ('DELETE', 'UPDATE') then
+        update contagem_clientes set total = total - 1
+        where ativo = old.ativo and fatia = fatia_sorteada;
+    end if;
+    return null;
+end;
+$$;
+
+create trigger trg_contagem_clientes_insercao_remocao
+    after insert or delete on clientes
+    for each row execute function atualizar_contagem_clientes();
+
+create trigger trg_contagem_clientes_status
+    after update of ativo on clientes
+    for each row when (old.ativo is distinct from new.ativo)
+    execute function atualizar_contagem_clientes();
@@ -0,0 +1,3 @@
+-- Versão para o controle otimista de concorrência de ClienteModel (@Version), exposta como ETag.
+-- Com default constante o Postgres só altera o catálogo, sem reescrever a tabela.
+alter table clientes add column versao bigint not null default 0;
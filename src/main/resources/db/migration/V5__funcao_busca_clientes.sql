@@ -0,0 +1,12 @@
+-- Busca por nome, e-mail e endereço sem diferenciar acentos e maiúsculas. unaccent() não é imutável porque
+-- depende do search_path, então a função fixa o dicionário para poder ser usada em índice de expressão.
+-- A aplicação chama a função com as mesmas colunas, na mesma ordem, para o planner casar com o índice.
+create extension if not exists pg_trgm;
+create extension if not exists unaccent;
+
+create function busca_clientes(nome text, email text, cidade text, bairro text, cep text) returns text
+    language sql immutable parallel safe as
+$$
+select lower(public.unaccent('public.unaccent'::regdictionary,
+        nome || ' ' || email || ' ' || cidade || ' ' || bairro || ' ' || cep));
+$$;
@@ -0,0 +1,9 @@
+-- O GIN de trigramas atende LIKE '%termo%' sobre o texto normalizado, inclusive prefixos no meio das palavras.
+-- O índice em (nome, id) dá a ordem da paginação por keyset: em termos muito comuns o planner percorre a
+-- ordem e para ao completar a janela, em vez de ordenar todas as linhas que casam. Fica separado da V5 porque
+-- CREATE INDEX CONCURRENTLY precisa rodar fora de transação.
+create index concurrently if not exists idx_clientes_busca_trgm
+    on clientes using gin (busca_clientes(nome, email, cidade, bairro, cep) gin_trgm_ops);
+
+create index concurrently if not exists idx_clientes_nome
+    on clientes (nome, id);
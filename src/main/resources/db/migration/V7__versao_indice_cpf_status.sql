@@ -0,0 +1,15 @@
+-- As buscas por CPF passaram a projetar a versão (V4), que ficou fora do INCLUDE do índice de CPF e status e
+-- obrigava cada busca a ler a linha na tabela. O índice é recriado com a versão para voltar ao index-only scan.
+-- O novo índice é construído com outro nome e só depois toma o lugar do antigo, para as buscas nunca ficarem sem
+-- ele. CONCURRENTLY evita bloquear escritas; o .conf ao lado faz o Flyway executar a migração inteira fora de
+-- transação, já que o rename sozinho seria transacional. Uma execução interrompida pode deixar o índice novo
+-- inválido, por isso ele é descartado antes de ser construído.
+drop index concurrently if exists idx_clientes_cpf_status_novo;
+
+create index concurrently idx_clientes_cpf_status_novo
+    on clientes (cpf, ativo)
+    include (id, nome, data_nascimento, email, logradouro, numero, bairro, cidade, estado, cep, versao);
+
+drop index concurrently if exists idx_clientes_cpf_status;
+
+alter index idx_clientes_cpf_status_novo rename to idx_clientes_cpf_status;
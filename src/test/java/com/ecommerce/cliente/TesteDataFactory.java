@@ -1,6 +1,7 @@
 package com.ecommerce.cliente;
 
 import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
 import com.ecommerce.cliente.dtos.ClienteStatusRecordDTO;
 import com.ecommerce.cliente.dtos.EnderecoRecordDTO;
 import com.ecommerce.cliente.embedded.Endereco;
@@ -78,7 +79,8 @@ public class TesteDataFactory {
                 "teste@gmail.com",
                 "745.303.692-50",
                 endereco01,
-                true);
+                true,
+                0L);
 
         var endereco02 = new Endereco(
                 "Rua das Flores",
@@ -95,7 +97,8 @@ public class TesteDataFactory {
                 "teste2@hotmail.com",
                 "594.642.567-61",
                 endereco02,
-                true);
+                true,
+                0L);
 
         var enderecoAtualizado = new Endereco(
                 "Rua dos Três Poderes",
@@ -112,7 +115,8 @@ public class TesteDataFactory {
                 "rodrigo@hotmail.com",
                 "745.303.692-50",
                 enderecoAtualizado,
-                true);
+                true,
+                0L);
 
         clientes.add(cliente01);
         clientes.add(cliente02);
@@ -180,7 +184,7 @@ public class TesteDataFactory {
                 LocalDate.of(1995, 06, 22),
                 "teste1@gmail.com",
                 "123.456.789-01",
-                endereco01, false);
+                endereco01, false, 0L);
 
         var endereco02 = new Endereco(
                 "Avenida Rio Branco",
@@ -197,11 +201,28 @@ public class TesteDataFactory {
                 "test2@gmail.com",
                 "987.654.321-00",
                 endereco02,
-                false);
+                false,
+                0L);
 
         clientes.add(cliente01);
         clientes.add(cliente02);
         return clientes;
 
     }
+
+    public static List<ClienteResponseRecordDTO> clientesAtivosResponseDTO() {
+        return paraResposta(clientesAtivosDB());
+    }
+
+    public static List<ClienteResponseRecordDTO> clientesInativosResponseDTO() {
+        return paraResposta(clientesInativosDB());
+    }
+
+    private static List<ClienteResponseRecordDTO> paraResposta(List<ClienteModel> clientes) {
+        return clientes.stream()
+                .map(cliente -> new ClienteResponseRecordDTO(cliente.getId(), cliente.getNome(),
+                        cliente.getDataNascimento(), cliente.getEmail(), cliente.getCpf(),
+                        cliente.getEndereco(), cliente.isAtivo(), cliente.getVersao()))
+                .toList();
+    }
 }
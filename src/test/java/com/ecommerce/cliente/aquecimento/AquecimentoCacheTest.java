@@ -0,0 +1,71 @@
+package com.ecommerce.cliente.aquecimento;
+
+import com.ecommerce.cliente.cache.CpfsQuentes;
+import com.ecommerce.cliente.exceptions.ResourceNotFoundException;
+import com.ecommerce.cliente.services.ClienteService;
+import com.ecommerce.cliente.services.JsonProntoClienteService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AquecimentoCacheTest {
+
+    @Mock
+    private ClienteService clienteService;
+
+    @Mock
+    private JsonProntoClienteService jsonProntoClienteService;
+
+    @Mock
+    private CpfsQuentes cpfsQuentes;
+
+    @DisplayName(" Quando aquecer o cache" +
+            "então carregar as primeiras páginas e os CPFs mais acessados mesmo se algum falhar")
+    @Test
+    void quandoAquecerCache_EntaoCarregarPaginasECpfsMaisAcessados() throws Exception {
+
+        when(cpfsQuentes.maisAcessados(true, 10)).thenReturn(List.of("745.303.692-50", "000.000.000-00"));
+        when(cpfsQuentes.maisAcessados(false, 10)).thenReturn(List.of("123.456.789-09"));
+        when(clienteService.buscarClienteAtivoPorCpf("000.000.000-00"))
+                .thenThrow(new ResourceNotFoundException("Cliente não encontrado"));
+
+        aquecimento(true).aquecer();
+
+        for (int pagina = 0; pagina < 2; pagina++) {
+            verify(clienteService).buscarClientesAtivos(PageRequest.of(pagina,
+                    AquecimentoCache.TAMANHO_PAGINA_PADRAO, AquecimentoCache.ORDENACAO_PADRAO));
+        }
+        verify(clienteService).buscarClienteAtivoPorCpf("745.303.692-50");
+        verify(clienteService).buscarClienteAtivoPorCpf("000.000.000-00");
+        verify(clienteService).buscarClienteInativoPorCpf("123.456.789-09");
+        verify(jsonProntoClienteService, never()).buscarClienteAtivoPorCpf(any());
+    }
+
+    @DisplayName(" Quando o aquecimento estiver desabilitado" +
+            "então não carregar nada na subida")
+    @Test
+    void quandoAquecimentoDesabilitado_EntaoNaoCarregarNada() throws Exception {
+
+        aquecimento(false).run(null);
+
+        verifyNoInteractions(clienteService, cpfsQuentes);
+    }
+
+    private AquecimentoCache aquecimento(boolean habilitado) {
+        return new AquecimentoCache(clienteService, jsonProntoClienteService, cpfsQuentes, habilitado, 2, 10, 4,
+                Duration.ofSeconds(5));
+    }
+}
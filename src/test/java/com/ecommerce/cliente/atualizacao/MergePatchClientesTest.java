@@ -0,0 +1,79 @@
+package com.ecommerce.cliente.atualizacao;
+
+import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+
+import static com.ecommerce.cliente.TesteDataFactory.clienteDTO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MergePatchClientesTest {
+
+    private ObjectMapper objectMapper;
+
+    private MergePatchClientes mergePatch;
+
+    private ClienteRecordDTO atual;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mergePatch = new MergePatchClientes(objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        atual = clienteDTO().get(0);
+    }
+
+    @DisplayName(" Quando o patch trouxer só alguns campos" +
+            "então manter os demais e mesclar o endereço")
+    @Test
+    void quandoPatchTrouxerAlgunsCampos_EntaoManterDemaisEMesclarEndereco() throws Exception {
+
+        var resultado = mergePatch.aplicar(atual, objectMapper.readTree(
+                "{\"email\":\"rodrigo@hotmail.com\",\"dataNascimento\":\"08/02/2002\",\"endereco\":{\"numero\":\"1200\"}}"));
+
+        assertEquals("rodrigo@hotmail.com", resultado.email());
+        assertEquals(LocalDate.of(2002, 2, 8), resultado.dataNascimento());
+        assertEquals(atual.nome(), resultado.nome());
+        assertEquals(atual.cpf(), resultado.cpf());
+        assertEquals("1200", resultado.endereco().numero());
+        assertEquals(atual.endereco().logradouro(), resultado.endereco().logradouro());
+    }
+
+    @DisplayName(" Quando o patch remover um campo obrigatório" +
+            "então lançar BadRequestException")
+    @Test
+    void quandoPatchRemoverCampoObrigatorio_EntaoLancarBadRequestException() throws Exception {
+
+        var exception = assertThrows(BadRequestException.class,
+                () -> mergePatch.aplicar(atual, objectMapper.readTree("{\"nome\":null}")));
+
+        assertEquals("Campo 'nome' não pode estar vazio!", exception.getMessage());
+    }
+
+    @DisplayName(" Quando o patch trouxer campo que não é dado cadastral" +
+            "então lançar BadRequestException")
+    @Test
+    void quandoPatchTrouxerCampoNaoEditavel_EntaoLancarBadRequestException() throws Exception {
+
+        var exception = assertThrows(BadRequestException.class,
+                () -> mergePatch.aplicar(atual, objectMapper.readTree("{\"ativo\":false}")));
+
+        assertEquals("Campo 'ativo' não pode ser alterado!", exception.getMessage());
+    }
+
+    @DisplayName(" Quando o patch não for um objeto JSON" +
+            "então lançar BadRequestException")
+    @Test
+    void quandoPatchNaoForObjeto_EntaoLancarBadRequestException() throws Exception {
+
+        assertThrows(BadRequestException.class, () -> mergePatch.aplicar(atual, objectMapper.readTree("[]")));
+    }
+}
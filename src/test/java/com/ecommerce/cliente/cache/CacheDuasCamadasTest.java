@@ -0,0 +1,206 @@
+package com.ecommerce.cliente.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CacheDuasCamadasTest {
+
+    private static final String CHAVE = "pagina:0";
+
+    private ConcurrentMapCache remoto;
+
+    private TravaCarregamento trava;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        remoto = new ConcurrentMapCache("clientes-ativos-paginas");
+        trava = mock(TravaCarregamento.class);
+        when(trava.adquirir(anyString(), anyString())).thenReturn("token");
+        when(trava.getDuracao()).thenReturn(Duration.ofSeconds(2));
+        registry = new SimpleMeterRegistry();
+    }
+
+    @DisplayName(" Quando muitas requisições buscarem a mesma chave ao mesmo tempo" +
+            "então carregar do banco uma única vez")
+    @Test
+    void quandoMuitasRequisicoesBuscaremMesmaChave_EntaoCarregarUmaVez() throws Exception {
+
+        var cache = cache(Duration.ofMinutes(1), Runnable::run);
+        var carregamentos = new AtomicInteger();
+        var liberar = new CountDownLatch(1);
+
+        var resultados = new ArrayList<Future<String>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 32; i++) {
+                resultados.add(executor.submit(() -> cache.get(CHAVE, () -> {
+                    carregamentos.incrementAndGet();
+                    liberar.await(5, TimeUnit.SECONDS);
+                    return "clientes";
+                })));
+            }
+            Thread.sleep(100);
+            liberar.countDown();
+            for (var resultado : resultados) {
+                assertEquals("clientes", resultado.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, carregamentos.get());
+        assertEquals("clientes", remoto.get(CHAVE).get());
+    }
+
+    @DisplayName(" Quando a entrada da L1 estiver expirada dentro da janela" +
+            "então entregar o valor antigo e renovar em segundo plano")
+    @Test
+    void quandoEntradaExpiradaDentroDaJanela_EntaoEntregarValorAntigoERenovar() {
+
+        var cache = cache(Duration.ZERO, Runnable::run);
+        cache.put(CHAVE, "antigo");
+        remoto.evict(CHAVE);
+
+        var valor = cache.get(CHAVE, () -> "novo");
+
+        assertEquals("antigo", valor);
+        assertEquals("novo", remoto.get(CHAVE).get());
+        assertEquals(1.0, registry.get("cache.camadas.carregamentos")
+                .tags("evento", "obsoleto").counter().count());
+    }
+
+    @DisplayName(" Quando a chave faltar na L1 e existir na L2" +
+            "então entregar o valor da L2 sem consultar o banco")
+    @Test
+    void quandoChaveFaltarNaL1EExistirNaL2_EntaoEntregarValorDaL2() {
+
+        remoto.put(CHAVE, "da-l2");
+        var cache = cache(Duration.ofMinutes(1), Runnable::run);
+        var carregamentos = new AtomicInteger();
+
+        var valor = cache.get(CHAVE, () -> {
+            carregamentos.incrementAndGet();
+            return "do-banco";
+        });
+        remoto.evict(CHAVE);
+
+        assertEquals("da-l2", valor);
+        assertEquals(0, carregamentos.get());
+        assertEquals("da-l2", cache.get(CHAVE).get());
+    }
+
+    @DisplayName(" Quando gravar um valor" +
+            "então escrever nas duas camadas")
+    @Test
+    void quandoGravarValor_EntaoEscreverNasDuasCamadas() {
+
+        var cache = cache(Duration.ofMinutes(1), Runnable::run);
+
+        cache.put(CHAVE, "clientes");
+
+        assertEquals("clientes", remoto.get(CHAVE).get());
+        remoto.evict(CHAVE);
+        assertEquals("clientes", cache.get(CHAVE).get());
+    }
+
+    @DisplayName(" Quando outra instância tiver a trava da chave" +
+            "então esperar o valor dela na L2 sem consultar o banco")
+    @Test
+    void quandoOutraInstanciaTiverTrava_EntaoEsperarValorNaL2() {
+
+        when(trava.adquirir(anyString(), anyString())).thenReturn(null);
+        var cache = cache(Duration.ofMinutes(1), Runnable::run);
+        var carregamentos = new AtomicInteger();
+        CompletableFuture.runAsync(() -> remoto.put(CHAVE, "da-outra-instancia"),
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+        var valor = cache.get(CHAVE, () -> {
+            carregamentos.incrementAndGet();
+            return "local";
+        });
+
+        assertEquals("da-outra-instancia", valor);
+        assertEquals(0, carregamentos.get());
+    }
+
+    @DisplayName(" Quando outra chave for removida durante o carregamento" +
+            "então guardar o valor carregado nas duas camadas")
+    @Test
+    void quandoOutraChaveForRemovidaDuranteCarregamento_EntaoGuardarValor() {
+
+        var cache = cache(Duration.ofMinutes(1), Runnable::run);
+
+        var valor = cache.get(CHAVE, () -> {
+            cache.evict("pagina:1");
+            return "clientes";
+        });
+
+        assertEquals("clientes", valor);
+        assertEquals("clientes", remoto.get(CHAVE).get());
+        remoto.evict(CHAVE);
+        assertEquals("clientes", cache.get(CHAVE).get());
+    }
+
+    @DisplayName(" Quando a mesma chave for removida durante o carregamento" +
+            "então devolver o valor sem guardá-lo")
+    @Test
+    void quandoMesmaChaveForRemovidaDuranteCarregamento_EntaoNaoGuardarValor() {
+
+        var cache = cache(Duration.ofMinutes(1), Runnable::run);
+
+        var valor = cache.get(CHAVE, () -> {
+            cache.evict(CHAVE);
+            return "clientes";
+        });
+
+        assertEquals("clientes", valor);
+        assertNull(remoto.get(CHAVE));
+        assertNull(cache.get(CHAVE));
+    }
+
+    @DisplayName(" Quando a trava de outra instância for liberada sem valor na L2" +
+            "então assumir o carregamento sem esperar a trava expirar")
+    @Test
+    void quandoTravaForLiberadaSemValor_EntaoCarregarSemEsperarExpiracao() {
+
+        when(trava.adquirir(anyString(), anyString())).thenReturn(null, "token");
+        when(trava.getDuracao()).thenReturn(Duration.ofMinutes(1));
+        var cache = cache(Duration.ofMinutes(1), Runnable::run);
+
+        var valor = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> cache.get(CHAVE, () -> "local"));
+
+        assertEquals("local", valor);
+        assertEquals("local", remoto.get(CHAVE).get());
+        verify(trava).liberar(remoto.getName(), CHAVE, "token");
+    }
+
+    private CacheDuasCamadas cache(Duration expiracaoL1, java.util.concurrent.Executor renovador) {
+        com.github.benmanes.caffeine.cache.Cache<String, CacheDuasCamadas.EntradaLocal> local = Caffeine.newBuilder()
+                .expireAfterWrite(expiracaoL1.plusMinutes(1))
+                .build();
+        var politica = new PoliticaCarregamento(expiracaoL1, 1.0, trava, Duration.ofMillis(10), renovador);
+        return new CacheDuasCamadas(remoto.getName(), local, remoto, mock(PublicadorInvalidacaoCache.class),
+                registry, ObservationRegistry.NOOP, politica);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.cliente.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ChaveCacheClientesTest {
+
+    @Mock
+    VersaoPaginasCache versaoPaginas;
+
+    private Method metodo;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        metodo = Object.class.getMethod("toString");
+    }
+
+    @DisplayName(" Quando gerar chave de CPF" +
+            "então diferenciar ativos de inativos")
+    @Test
+    void quandoGerarChaveCpf_EntaoDiferenciarStatus() {
+
+        var chaveAtivo = new ChaveCacheClientes(true, versaoPaginas)
+                .generate(this, metodo, "745.303.692-50");
+        var chaveInativo = new ChaveCacheClientes(false, versaoPaginas)
+                .generate(this, metodo, "745.303.692-50");
+
+        assertEquals("ativos:745.303.692-50", chaveAtivo);
+        assertEquals("inativos:745.303.692-50", chaveInativo);
+    }
+
+    @DisplayName(" Quando gerar chave de página" +
+            "então incluir versão, página, tamanho e ordenação")
+    @Test
+    void quandoGerarChavePagina_EntaoIncluirVersaoPaginaTamanhoEOrdenacao() {
+
+        when(versaoPaginas.atual("ativos")).thenReturn(3L);
+        var gerador = new ChaveCacheClientes(true, versaoPaginas);
+
+        var chaveAsc = gerador.generate(this, metodo,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "dataNascimento")));
+        var chaveDesc = gerador.generate(this, metodo,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "dataNascimento")));
+
+        assertEquals("ativos:v3:p0:s10:dataNascimento-ASC", chaveAsc);
+        assertNotEquals(chaveAsc, chaveDesc);
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.cliente.cache;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.cliente.TesteDataFactory.clientesAtivosResponseDTO;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClienteCacheSerializerTest {
+
+    private ClienteCacheSerializer serializer;
+
+    private List<ClienteResponseRecordDTO> clientesDB;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new ClienteCacheSerializer();
+        clientesDB = clientesAtivosResponseDTO();
+    }
+
+    @DisplayName(" Quando serializar o cliente" +
+            "então desserializar o mesmo cliente")
+    @Test
+    void quandoSerializarCliente_EntaoDesserializarMesmoCliente() {
+
+        var resultado = serializer.deserialize(serializer.serialize(clientesDB.get(0)));
+
+        assertEquals(clientesDB.get(0), resultado);
+    }
+
+    @DisplayName(" Quando serializar a página de clientes" +
+            "então preservar conteúdo, paginação e ordenação")
+    @Test
+    void quandoSerializarPagina_EntaoPreservarConteudoPaginacaoEOrdenacao() {
+
+        var paginado = PageRequest.of(1, 2, Sort.by(Sort.Direction.ASC, "dataNascimento"));
+        Page<ClienteResponseRecordDTO> pagina = new PageImpl<>(List.of(clientesDB.get(0), clientesDB.get(1)), paginado, 5);
+
+        @SuppressWarnings("unchecked")
+        var resultado = (Page<ClienteResponseRecordDTO>) serializer.deserialize(serializer.serialize(pagina));
+
+        assertEquals(5, resultado.getTotalElements());
+        assertEquals(paginado, resultado.getPageable());
+        assertEquals(pagina.getContent(), resultado.getContent());
+    }
+
+    @DisplayName(" Quando serializar o JSON pronto comprimido" +
+            "então devolver os mesmos bytes, o ID e a versão")
+    @Test
+    void quandoSerializarJsonPronto_EntaoDevolverMesmosBytesEVersao() {
+
+        var id = UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3");
+        var json = JsonClientePronto.de(id, 7L, "{\"nome\":\"Rodrigo Alves\"}".getBytes(StandardCharsets.UTF_8), true);
+
+        var resultado = (JsonClientePronto) serializer.deserialize(serializer.serialize(json));
+
+        assertEquals(id, resultado.id());
+        assertEquals(7L, resultado.versao());
+        assertTrue(resultado.gzip());
+        assertArrayEquals(json.conteudo(), resultado.conteudo());
+        assertEquals("{\"nome\":\"Rodrigo Alves\"}", new String(resultado.json(), StandardCharsets.UTF_8));
+    }
+
+    @DisplayName(" Quando serializar o marcador de CPF ausente" +
+            "então recuperar o mesmo marcador com três bytes")
+    @Test
+    void quandoSerializarMarcadorAusente_EntaoRecuperarMesmoMarcador() {
+
+        var bytes = serializer.serialize(CpfsAusentes.Marcador.AUSENTE);
+
+        assertEquals(3, bytes.length);
+        assertSame(CpfsAusentes.Marcador.AUSENTE, serializer.deserialize(bytes));
+    }
+
+    @DisplayName(" Quando desserializar entrada gravada com serialização Java" +
+            "então descartar como falta de cache")
+    @Test
+    void quandoDesserializarEntradaJdk_EntaoDescartar() {
+
+        var bytesJdk = new JdkSerializationRedisSerializer().serialize(clientesDB.get(0));
+
+        assertNull(serializer.deserialize(bytesJdk));
+    }
+
+    @DisplayName(" Quando desserializar versão de esquema diferente" +
+            "então descartar como falta de cache")
+    @Test
+    void quandoDesserializarVersaoDiferente_EntaoDescartar() {
+
+        var bytes = serializer.serialize(clientesDB.get(0));
+        bytes[1] = (byte) (ClienteCacheSerializer.VERSAO_ESQUEMA + 1);
+
+        assertNull(serializer.deserialize(bytes));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.cliente.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InvalidadorCacheClientesTest {
+
+    @Mock
+    CacheManager cacheManager;
+    @Mock
+    StringRedisTemplate redisTemplate;
+    @Mock
+    ValueOperations<String, String> valores;
+    @Mock
+    PublicadorInvalidacaoCache publicador;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName(" Quando o Redis falhar ao invalidar as páginas depois do commit" +
+            "então não propagar a falha para a escrita")
+    @Test
+    void quandoRedisFalharAoInvalidarPaginas_EntaoNaoPropagarFalha() {
+
+        when(redisTemplate.opsForValue()).thenReturn(valores);
+        when(valores.increment(anyString())).thenThrow(new RedisConnectionFailureException("Redis indisponível"));
+        var versaoPaginas = new VersaoPaginasCache(redisTemplate, publicador, Duration.ofSeconds(1));
+        var invalidador = new InvalidadorCacheClientes(cacheManager, versaoPaginas);
+
+        TransactionSynchronizationManager.initSynchronization();
+        invalidador.invalidarPaginas(true);
+
+        assertDoesNotThrow(() -> TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit));
+        verifyNoInteractions(publicador);
+    }
+
+    @DisplayName(" Quando o cache falhar ao remover o CPF depois do commit" +
+            "então não propagar a falha para a escrita")
+    @Test
+    void quandoCacheFalharAoRemoverCpf_EntaoNaoPropagarFalha() {
+
+        var cache = mock(Cache.class);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        doThrow(new RedisConnectionFailureException("Redis indisponível")).when(cache).evict(any());
+        var invalidador = new InvalidadorCacheClientes(cacheManager, mock(VersaoPaginasCache.class));
+
+        TransactionSynchronizationManager.initSynchronization();
+        invalidador.invalidarCpf("745.303.692-50");
+
+        assertDoesNotThrow(() -> TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit));
+    }
+}
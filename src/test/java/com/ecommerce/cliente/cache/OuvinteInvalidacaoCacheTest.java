@@ -0,0 +1,108 @@
+package com.ecommerce.cliente.cache;
+
+import com.ecommerce.cliente.config.ClientesCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OuvinteInvalidacaoCacheTest {
+
+    private static final String REGIAO = RegioesCache.CPF_ATIVOS;
+
+    private static final String CHAVE = "745.303.692-50";
+
+    private ConcurrentMapCache remoto;
+
+    private GerenciadorCacheDuasCamadas gerenciador;
+
+    private VersaoPaginasCache versaoPaginas;
+
+    private OuvinteInvalidacaoCache ouvinte;
+
+    @BeforeEach
+    void setUp() {
+        remoto = new ConcurrentMapCache(REGIAO);
+        var gerenciadorRemoto = mock(RedisCacheManager.class);
+        when(gerenciadorRemoto.getCache(REGIAO)).thenReturn(remoto);
+        gerenciador = new GerenciadorCacheDuasCamadas(gerenciadorRemoto, mock(PublicadorInvalidacaoCache.class),
+                new SimpleMeterRegistry(), new ClientesCacheProperties(), ObservationRegistry.NOOP,
+                mock(TravaCarregamento.class));
+        versaoPaginas = mock(VersaoPaginasCache.class);
+        ouvinte = new OuvinteInvalidacaoCache(gerenciador, versaoPaginas, "instancia-local");
+    }
+
+    @AfterEach
+    void tearDown() {
+        gerenciador.close();
+    }
+
+    @DisplayName(" Quando outra instância publicar a remoção de uma chave" +
+            "então tirar a chave da L1 local e voltar a ler da L2")
+    @Test
+    void quandoOutraInstanciaPublicarRemocao_EntaoRemoverDaL1() {
+
+        var cache = gerenciador.getCache(REGIAO);
+        cache.put(CHAVE, "antigo");
+        remoto.put(CHAVE, "novo");
+
+        ouvinte.onMessage(mensagem("instancia-remota|R|" + REGIAO + "|" + CHAVE), null);
+
+        assertEquals("novo", cache.get(CHAVE).get());
+    }
+
+    @DisplayName(" Quando outra instância publicar a limpeza de uma região" +
+            "então limpar a L1 local da região")
+    @Test
+    void quandoOutraInstanciaPublicarLimpeza_EntaoLimparL1() {
+
+        var cache = gerenciador.getCache(REGIAO);
+        cache.put(CHAVE, "antigo");
+        remoto.put(CHAVE, "novo");
+
+        ouvinte.onMessage(mensagem("instancia-remota|L|" + REGIAO + "|"), null);
+
+        assertEquals("novo", cache.get(CHAVE).get());
+    }
+
+    @DisplayName(" Quando a mensagem for da própria instância" +
+            "então manter a L1 local")
+    @Test
+    void quandoMensagemForDaPropriaInstancia_EntaoManterL1() {
+
+        var cache = gerenciador.getCache(REGIAO);
+        cache.put(CHAVE, "antigo");
+        remoto.put(CHAVE, "novo");
+
+        ouvinte.onMessage(mensagem("instancia-local|R|" + REGIAO + "|" + CHAVE), null);
+
+        assertEquals("antigo", cache.get(CHAVE).get());
+    }
+
+    @DisplayName(" Quando outra instância publicar uma nova versão das páginas" +
+            "então atualizar a versão local")
+    @Test
+    void quandoOutraInstanciaPublicarVersao_EntaoAtualizarVersaoLocal() {
+
+        ouvinte.onMessage(mensagem("instancia-remota|V|ativos|7"), null);
+
+        verify(versaoPaginas).atualizar("ativos", 7L);
+    }
+
+    private static DefaultMessage mensagem(String corpo) {
+        return new DefaultMessage("clientes:cache:invalidacao".getBytes(StandardCharsets.UTF_8),
+                corpo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.cliente.concorrencia;
+
+import com.ecommerce.cliente.exceptions.ConflictException;
+import com.ecommerce.cliente.exceptions.PreconditionFailedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class RepeticaoOtimistaTest {
+
+    private static final UUID ID = UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3");
+
+    private SimpleMeterRegistry registry;
+
+    private RepeticaoOtimista repeticao;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repeticao = new RepeticaoOtimista(mock(PlatformTransactionManager.class), registry, 3, Duration.ZERO);
+    }
+
+    @DisplayName(" Quando a escrita conflitar e depois passar" +
+            "então repetir e devolver o resultado")
+    @Test
+    void quandoEscritaConflitarEDepoisPassar_EntaoRepetirEDevolverResultado() {
+
+        var tentativas = new AtomicInteger();
+
+        var resultado = repeticao.executar("atualizacao", ID, null, () -> {
+            if (tentativas.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("ClienteModel", ID);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultado);
+        assertEquals(3, tentativas.get());
+        assertEquals(2.0, registry.get("clientes.concorrencia.conflitos")
+                .tags("operacao", "atualizacao", "desfecho", "repetido").counter().count());
+        assertEquals(Map.of(ID, 2L), repeticao.maisDisputados(10));
+    }
+
+    @DisplayName(" Quando a escrita conflitar em todas as tentativas" +
+            "então lançar ConflictException")
+    @Test
+    void quandoEscritaConflitarEmTodasTentativas_EntaoLancarConflictException() {
+
+        var tentativas = new AtomicInteger();
+
+        assertThrows(ConflictException.class, () -> repeticao.executar("status", ID, () -> {
+            tentativas.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("ClienteModel", ID);
+        }));
+
+        assertEquals(3, tentativas.get());
+        assertEquals(1.0, registry.get("clientes.concorrencia.conflitos")
+                .tags("operacao", "status", "desfecho", "esgotado").counter().count());
+    }
+
+    @DisplayName(" Quando a escrita com versão esperada conflitar" +
+            "então lançar PreconditionFailedException sem repetir")
+    @Test
+    void quandoEscritaComVersaoEsperadaConflitar_EntaoLancarPreconditionFailedException() {
+
+        var tentativas = new AtomicInteger();
+
+        assertThrows(PreconditionFailedException.class, () -> repeticao.executar("atualizacao", ID, 2L, () -> {
+            tentativas.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("ClienteModel", ID);
+        }));
+
+        assertEquals(1, tentativas.get());
+    }
+}
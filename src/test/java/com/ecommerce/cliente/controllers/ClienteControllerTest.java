@@ -1,20 +1,40 @@
 package com.ecommerce.cliente.controllers;
 
+import com.ecommerce.cliente.cache.CpfsAusentes;
+import com.ecommerce.cliente.cache.CpfsQuentes;
+import com.ecommerce.cliente.cache.JsonClientePronto;
 import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
 import com.ecommerce.cliente.dtos.ClienteStatusRecordDTO;
-import com.ecommerce.cliente.models.ClienteModel;
+import com.ecommerce.cliente.dtos.FiltroExportacaoRecordDTO;
+import com.ecommerce.cliente.dtos.JanelaClientesRecordDTO;
+import com.ecommerce.cliente.dtos.ResultadoItemLoteRecordDTO;
+import com.ecommerce.cliente.dtos.ResultadoLoteRecordDTO;
+import com.ecommerce.cliente.enums.FormatoExportacao;
+import com.ecommerce.cliente.enums.StatusItemLote;
+import com.ecommerce.cliente.exceptions.ResourceNotFoundException;
+import com.ecommerce.cliente.services.BuscaClienteService;
 import com.ecommerce.cliente.services.ClienteService;
+import com.ecommerce.cliente.services.EscritaAdiadaStatusService;
+import com.ecommerce.cliente.services.ExportacaoClienteService;
+import com.ecommerce.cliente.services.JsonProntoClienteService;
+import com.ecommerce.cliente.services.RegistroLoteClienteService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -22,18 +42,34 @@ import org.springframework.test.web.servlet.ResultActions;
 
 import static com.ecommerce.cliente.TesteDataFactory.*;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
+@Import(SimpleMeterRegistry.class)
 public class ClienteControllerTest {
 
     @Autowired
@@ -42,11 +78,35 @@ public class ClienteControllerTest {
     @Autowired
     private ObjectMapper mapper;
 
+    @Autowired
+    private MeterRegistry registry;
+
     @MockitoBean
     private ClienteService clienteService;
 
-    private List<ClienteModel> clientesDB;
-    private List<ClienteModel> clientesInativosDB;
+    @MockitoBean
+    private ExportacaoClienteService exportacaoClienteService;
+
+    @MockitoBean
+    private RegistroLoteClienteService registroLoteClienteService;
+
+    @MockitoBean
+    private EscritaAdiadaStatusService escritaAdiadaStatusService;
+
+    @MockitoBean
+    private JsonProntoClienteService jsonProntoClienteService;
+
+    @MockitoBean
+    private BuscaClienteService buscaClienteService;
+
+    @MockitoBean
+    private CpfsQuentes cpfsQuentes;
+
+    @MockitoBean
+    private CpfsAusentes cpfsAusentes;
+
+    private List<ClienteResponseRecordDTO> clientesDB;
+    private List<ClienteResponseRecordDTO> clientesInativosDB;
     private List<ClienteRecordDTO> clienteDTO;
     private ClienteStatusRecordDTO clienteStatusDTO;
 
@@ -54,8 +114,8 @@ public class ClienteControllerTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        clientesDB = clientesAtivosDB();
-        clientesInativosDB = clientesInativosDB();
+        clientesDB = clientesAtivosResponseDTO();
+        clientesInativosDB = clientesInativosResponseDTO();
         clienteDTO = clienteDTO();
         clienteStatusDTO = clienteStatusRecordDTO();
     }
@@ -80,13 +140,35 @@ public class ClienteControllerTest {
                 .andExpect(jsonPath("$.ativo").value(true));
     }
 
+    @DisplayName(" Quando registrar um lote com itens rejeitados, " +
+            "então retornar o relatório por item com http status 207")
+    @Test
+    void quandoRegistrarLoteComItensRejeitados_EntaoRetornarRelatorioComHttpStatus207() throws Exception {
+
+        var relatorio = new ResultadoLoteRecordDTO(2, 1, 1, List.of(
+                new ResultadoItemLoteRecordDTO(0, "745.303.692-50", StatusItemLote.REGISTRADO,
+                        UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"), List.of()),
+                new ResultadoItemLoteRecordDTO(1, "745.303.692-50", StatusItemLote.CONFLITO, null,
+                        List.of("CPF 745.303.692-50 repetido no lote!"))));
+        when(registroLoteClienteService.registrarClientes(any())).thenReturn(relatorio);
+
+        ResultActions resultado = mock.perform(post("/clientes/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(clienteDTO)));
+
+        resultado.andDo(print())
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.registrados").value(1))
+                .andExpect(jsonPath("$.itens[1].status").value("CONFLITO"));
+    }
+
     @DisplayName(" Quando buscar clientesDB ativos, " +
             "então retornar clientesDB com http status 200")
     @Test
     void quandoBuscarClientesAtivos_EntaoRetornarClientesComHttpStatus200() throws Exception {
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<ClienteModel> paginaClientes = new PageImpl<>(List.of(clientesDB.get(0),
+        Page<ClienteResponseRecordDTO> paginaClientes = new PageImpl<>(List.of(clientesDB.get(0),
                 clientesDB.get(1)), pageable, 2);
 
         when(clienteService.buscarClientesAtivos(any(Pageable.class))).thenReturn(paginaClientes);
@@ -101,6 +183,195 @@ public class ClienteControllerTest {
                 .andExpect(jsonPath("$.content").isNotEmpty());
     }
 
+    @DisplayName(" Quando buscar clientes ativos pedindo contagem exata, " +
+            "então usar a busca com count exato e retornar http status 200")
+    @Test
+    void quandoBuscarClientesAtivosComContagemExata_EntaoUsarCountExato() throws Exception {
+
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ClienteResponseRecordDTO> paginaClientes = new PageImpl<>(List.of(clientesDB.get(0),
+                clientesDB.get(1)), pageable, 2);
+
+        when(clienteService.buscarClientesAtivosComContagemExata(any(Pageable.class))).thenReturn(paginaClientes);
+
+        ResultActions resultado = mock.perform(get("/clientes")
+                .param("contagemExata", "true")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        resultado.andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+        verify(clienteService, never()).buscarClientesAtivos(any(Pageable.class));
+    }
+
+    @DisplayName(" Quando buscar clientes ativos por cursor, " +
+            "então retornar a janela com o próximo cursor e http status 200")
+    @Test
+    void quandoBuscarClientesAtivosPorCursor_EntaoRetornarJanelaComHttpStatus200() throws Exception {
+
+        when(clienteService.buscarClientesAtivosPorCursor(null, 2))
+                .thenReturn(new JanelaClientesRecordDTO(List.of(clientesDB.get(0), clientesDB.get(1)),
+                        2, true, "cursor-opaco"));
+
+        ResultActions resultado = mock.perform(get("/clientes/cursor")
+                .param("tamanho", "2")
+                .contentType(MediaType.APPLICATION_JSON));
+
+        resultado.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo").isNotEmpty())
+                .andExpect(jsonPath("$.temProxima").value(true))
+                .andExpect(jsonPath("$.proximoCursor").value("cursor-opaco"));
+    }
+
+    @DisplayName(" Quando buscar clientes por termo, " +
+            "então retornar a janela encontrada com http status 200")
+    @Test
+    void quandoBuscarClientesPorTermo_EntaoRetornarJanelaComHttpStatus200() throws Exception {
+
+        when(buscaClienteService.buscarClientes("rodrigo bela", true, null, 10))
+                .thenReturn(new JanelaClientesRecordDTO(List.of(clientesDB.get(0)), 1, false, null));
+
+        ResultActions resultado = mock.perform(get("/clientes/busca")
+                .param("termo", "rodrigo bela")
+                .param("ativo", "true"));
+
+        resultado.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo[0].nome").value("Rodrigo Alves"))
+                .andExpect(jsonPath("$.temProxima").value(false))
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @DisplayName(" Quando exportar clientes em csv, " +
+            "então transmitir o arquivo com http status 200")
+    @Test
+    void quandoExportarClientesEmCsv_EntaoTransmitirArquivoComHttpStatus200() throws Exception {
+
+        doAnswer(invocacao -> {
+            OutputStream saida = invocacao.getArgument(2);
+            saida.write("id,nome\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportacaoClienteService).exportarClientes(
+                eq(new FiltroExportacaoRecordDTO(true, LocalDate.of(1990, 1, 1), null)),
+                eq(FormatoExportacao.CSV), any(OutputStream.class));
+
+        var requisicao = mock.perform(get("/clientes/exportacao")
+                        .param("formato", "CSV")
+                        .param("ativo", "true")
+                        .param("dataNascimentoInicio", "01/01/1990"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mock.perform(asyncDispatch(requisicao))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"clientes.csv\""))
+                .andExpect(content().string("id,nome\n"));
+    }
+
+    @DisplayName(" Quando buscar clientes ativos com a ETag da página, " +
+            "então retornar http status 304 sem corpo")
+    @Test
+    void quandoBuscarClientesAtivosComEtagDaPagina_EntaoRetornarHttpStatus304() throws Exception {
+
+        Page<ClienteResponseRecordDTO> paginaClientes = new PageImpl<>(List.of(clientesDB.get(0),
+                clientesDB.get(1)), PageRequest.of(0, 10), 2);
+        when(clienteService.buscarClientesAtivos(any(Pageable.class))).thenReturn(paginaClientes);
+
+        var etag = mock.perform(get("/clientes"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mock.perform(get("/clientes").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @DisplayName(" Quando buscar clientes ativos aceitando gzip, " +
+            "então retornar ETag fraca para o Tomcat poder comprimir e aceitar a mesma ETag no If-None-Match")
+    @Test
+    void quandoBuscarClientesAtivosAceitandoGzip_EntaoRetornarEtagFraca() throws Exception {
+
+        Page<ClienteResponseRecordDTO> paginaClientes = new PageImpl<>(List.of(clientesDB.get(0),
+                clientesDB.get(1)), PageRequest.of(0, 10), 2);
+        when(clienteService.buscarClientesAtivos(any(Pageable.class))).thenReturn(paginaClientes);
+
+        var etag = mock.perform(get("/clientes").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertTrue(etag.startsWith("W/\"p-"));
+        mock.perform(get("/clientes").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag.substring(2)))
+                .andExpect(status().isNotModified());
+    }
+
+    @DisplayName(" Quando buscar um cliente ativo por cpf com a versão atual no If-None-Match, " +
+            "então retornar http status 304 sem corpo")
+    @Test
+    void quandoBuscarClienteAtivoPorCpfComVersaoAtual_EntaoRetornarHttpStatus304() throws Exception {
+
+        when(clienteService.buscarClienteAtivoPorCpf("745.303.692-50"))
+                .thenReturn(clientesDB.get(0));
+
+        ResultActions resultado = mock.perform(get("/clientes/745.303.692-50")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"7ecc1e5b-846c-4e64-ac61-a54b2656e1b3-0\""));
+
+        resultado.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+    }
+
+    @DisplayName(" Quando o cpf passar a apontar para outro cliente com a mesma versão, " +
+            "então retornar o novo cliente com http status 200 em vez de 304")
+    @Test
+    void quandoCpfApontarParaOutroClienteComMesmaVersao_EntaoRetornarHttpStatus200() throws Exception {
+
+        var anterior = clientesDB.get(0);
+        var novo = new ClienteResponseRecordDTO(UUID.fromString("970c6f82-f78a-4a2a-bd6f-37f2a5b243a7"),
+                "Marina Costa", anterior.dataNascimento(), "marina@gmail.com", anterior.cpf(), anterior.endereco(),
+                true, anterior.versao());
+        when(clienteService.buscarClienteAtivoPorCpf("745.303.692-50")).thenReturn(novo);
+
+        ResultActions resultado = mock.perform(get("/clientes/745.303.692-50")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"7ecc1e5b-846c-4e64-ac61-a54b2656e1b3-0\""));
+
+        resultado.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"970c6f82-f78a-4a2a-bd6f-37f2a5b243a7-0\""))
+                .andExpect(jsonPath("$.nome").value("Marina Costa"));
+    }
+
+    @DisplayName(" Quando buscar um cliente ativo por cpf com o JSON pronto em gzip e o cliente aceitar gzip, " +
+            "então retornar os bytes comprimidos com Content-Encoding gzip")
+    @Test
+    void quandoBuscarClienteAtivoPorCpfComJsonProntoEmGzip_EntaoRetornarBytesComprimidos() throws Exception {
+
+        var json = JsonClientePronto.de(clientesDB.get(0).id(), 0L, mapper.writeValueAsBytes(clientesDB.get(0)), true);
+        when(jsonProntoClienteService.isHabilitado()).thenReturn(true);
+        when(jsonProntoClienteService.buscarClienteAtivoPorCpf("745.303.692-50")).thenReturn(json);
+
+        mock.perform(get("/clientes/745.303.692-50")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7ecc1e5b-846c-4e64-ac61-a54b2656e1b3-0\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().bytes(json.conteudo()));
+
+        mock.perform(get("/clientes/745.303.692-50")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.nome").value("Rodrigo Alves"));
+    }
+
     @DisplayName(" Quando buscar um cliente ativo por cpf, " +
             "então retornar cliente com http status 200")
     @Test
@@ -115,6 +386,8 @@ public class ClienteControllerTest {
         resultado.andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.nome").value("Rodrigo Alves"))
+                .andExpect(jsonPath("$.dataNascimento").value("2002-02-07"))
+                .andExpect(jsonPath("$.endereco.bairro").value("Bela Vista"))
                 .andExpect(jsonPath("$.cpf").value("745.303.692-50"))
                 .andExpect(jsonPath("$.email").value("teste@gmail.com"))
                 .andExpect(jsonPath("$.ativo").value(true));
@@ -126,7 +399,7 @@ public class ClienteControllerTest {
     void quandoBuscarClientesInativos_EntaoRetornarClientesComHttpStatus200() throws Exception {
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<ClienteModel> paginaClientes = new PageImpl<>(List.of(clientesInativosDB.get(0),
+        Page<ClienteResponseRecordDTO> paginaClientes = new PageImpl<>(List.of(clientesInativosDB.get(0),
                 clientesInativosDB.get(1)), pageable, 2);
 
         when(clienteService.buscarClientesInativos(any(Pageable.class)))
@@ -167,7 +440,7 @@ public class ClienteControllerTest {
     void quandoAtualizarDadosCliente_EntaoRetornarClienteAtualizadoComHttpStatus200() throws Exception {
 
         when(clienteService.atualizarDadosCliente(any(UUID.class),
-                any(ClienteRecordDTO.class))).thenReturn(clientesDB.get(2));
+                any(ClienteRecordDTO.class), isNull())).thenReturn(clientesDB.get(2));
 
         ResultActions resultado = mock.perform(
                 put("/clientes/7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")
@@ -182,6 +455,91 @@ public class ClienteControllerTest {
                 .andExpect(jsonPath("$.ativo").value(true));
     }
 
+    @DisplayName(" Quando aplicar merge patch com If-Match, " +
+            "então retornar cliente atualizado com ETag e http status 200")
+    @Test
+    void quandoAplicarMergePatchComIfMatch_EntaoRetornarClienteComEtagEHttpStatus200() throws Exception {
+
+        when(clienteService.atualizarParcialmenteCliente(eq(UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")),
+                any(JsonNode.class), eq(3L))).thenReturn(clientesDB.get(2));
+
+        ResultActions resultado = mock.perform(
+                patch("/clientes/7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")
+                .contentType("application/merge-patch+json")
+                .header(HttpHeaders.IF_MATCH, "\"7ecc1e5b-846c-4e64-ac61-a54b2656e1b3-3\"")
+                .content("{\"email\":\"rodrigo@hotmail.com\"}"));
+
+        resultado.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7ecc1e5b-846c-4e64-ac61-a54b2656e1b3-0\""))
+                .andExpect(jsonPath("$.email").value("rodrigo@hotmail.com"));
+        verify(clienteService, never()).alternarStatusCliente(any(UUID.class), any(ClienteStatusRecordDTO.class));
+    }
+
+    @DisplayName(" Quando aplicar merge patch com a ETag de outro cliente no If-Match, " +
+            "então retornar http status 412")
+    @Test
+    void quandoAplicarMergePatchComEtagDeOutroCliente_EntaoRetornarHttpStatus412() throws Exception {
+
+        ResultActions resultado = mock.perform(
+                patch("/clientes/7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")
+                .contentType("application/merge-patch+json")
+                .header(HttpHeaders.IF_MATCH, "\"970c6f82-f78a-4a2a-bd6f-37f2a5b243a7-3\"")
+                .content("{\"nome\":\"Rodrigo\"}"));
+
+        resultado.andDo(print())
+                .andExpect(status().isPreconditionFailed());
+        verifyNoInteractions(clienteService);
+    }
+
+    @DisplayName(" Quando aplicar merge patch com ETag fraca no If-Match, " +
+            "então retornar http status 412")
+    @Test
+    void quandoAplicarMergePatchComEtagFraca_EntaoRetornarHttpStatus412() throws Exception {
+
+        ResultActions resultado = mock.perform(
+                patch("/clientes/7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")
+                .contentType("application/merge-patch+json")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .content("{\"nome\":\"Rodrigo\"}"));
+
+        resultado.andDo(print())
+                .andExpect(status().isPreconditionFailed());
+        verify(clienteService, never()).atualizarParcialmenteCliente(any(UUID.class), any(JsonNode.class), any());
+    }
+
+    @DisplayName(" Quando buscar um cliente ativo por cpf inexistente, " +
+            "então retornar http status 404 e contar o erro por tipo de exceção")
+    @Test
+    void quandoBuscarClienteAtivoPorCpfInexistente_EntaoRetornarHttpStatus404EContarErro() throws Exception {
+
+        when(clienteService.buscarClienteAtivoPorCpf("000.000.000-00"))
+                .thenThrow(new ResourceNotFoundException("Cliente com o CPF 000.000.000-00 não foi encontrado."));
+        var erros = registry.counter("clientes.http.erros", "excecao", "ResourceNotFoundException", "status", "404");
+        var antes = erros.count();
+
+        mock.perform(get("/clientes/000.000.000-00"))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+
+        assertEquals(antes + 1, erros.count());
+    }
+
+    @DisplayName(" Quando buscar um cpf registrado no cache negativo, " +
+            "então retornar o mesmo 404 sem consultar o serviço")
+    @Test
+    void quandoBuscarCpfNoCacheNegativo_EntaoRetornarHttpStatus404SemConsultarServico() throws Exception {
+
+        doThrow(CpfsAusentes.naoEncontrado("000.000.000-00")).when(cpfsAusentes).conferir(true, "000.000.000-00");
+
+        mock.perform(get("/clientes/000.000.000-00"))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Cliente com o CPF 000.000.000-00 não foi encontrado."));
+
+        verify(clienteService, never()).buscarClienteAtivoPorCpf(any());
+    }
+
     @DisplayName(" Quando atualizar status do cliente, " +
             "então retornar http status 204")
     @Test
@@ -198,6 +556,23 @@ public class ClienteControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @DisplayName(" Quando atualizar status do cliente com escrita adiada, " +
+            "então enfileirar a troca e retornar http status 202")
+    @Test
+    void quandoAtualizarStatusComEscritaAdiada_EntaoRetornarHttpStatus202() throws Exception {
+
+        when(escritaAdiadaStatusService.isHabilitado()).thenReturn(true);
+        ResultActions resultado = mock.perform(
+                patch("/clientes/7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(clienteStatusDTO)));
+
+        resultado.andExpect(status().isAccepted());
+        verify(escritaAdiadaStatusService).alternarStatus(UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"),
+                clienteStatusDTO.ativo());
+        verify(clienteService, never()).alternarStatusCliente(any(UUID.class), any(ClienteStatusRecordDTO.class));
+    }
+
     @DisplayName(" Quando deletar o cliente, " +
             "então retornar http status 204")
     @Test
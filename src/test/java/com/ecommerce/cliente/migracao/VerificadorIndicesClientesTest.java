@@ -0,0 +1,103 @@
+package com.ecommerce.cliente.migracao;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class VerificadorIndicesClientesTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private VerificadorIndicesClientes verificador;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:indices;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table clientes (id uuid primary key, cpf varchar(255), ativo boolean,"
+                + " data_nascimento date, nome varchar(255))");
+        verificador = new VerificadorIndicesClientes(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("shutdown");
+    }
+
+    @DisplayName(" Quando faltar algum índice esperado" +
+            "então listar apenas os ausentes")
+    @Test
+    void quandoFaltarIndice_EntaoListarAusentes() throws Exception {
+
+        jdbcTemplate.execute("create index idx_clientes_ativos_nascimento on clientes (data_nascimento, id)");
+
+        assertEquals(List.of("idx_clientes_inativos_nascimento", "idx_clientes_cpf_status",
+                        "idx_clientes_busca_trgm", "idx_clientes_nome"),
+                verificador.indicesAusentes());
+    }
+
+    @DisplayName(" Quando todos os índices esperados existirem" +
+            "então não listar nenhum ausente")
+    @Test
+    void quandoTodosIndicesExistirem_EntaoNaoListarAusentes() throws Exception {
+
+        jdbcTemplate.execute("create index idx_clientes_ativos_nascimento on clientes (data_nascimento, id)");
+        jdbcTemplate.execute("create index idx_clientes_inativos_nascimento on clientes (data_nascimento, id)");
+        jdbcTemplate.execute("create index idx_clientes_cpf_status on clientes (cpf, ativo)");
+        jdbcTemplate.execute("create index idx_clientes_busca_trgm on clientes (nome)");
+        jdbcTemplate.execute("create index idx_clientes_nome on clientes (nome, id)");
+
+        assertTrue(verificador.indicesAusentes().isEmpty());
+    }
+
+    @DisplayName(" Quando o banco não for PostgreSQL" +
+            "então não listar índices inválidos")
+    @Test
+    void quandoBancoNaoForPostgres_EntaoNaoListarInvalidos() throws Exception {
+
+        jdbcTemplate.execute("create index idx_clientes_nome on clientes (nome, id)");
+
+        assertTrue(verificador.indicesInvalidos().isEmpty());
+    }
+
+    @DisplayName(" Quando o PostgreSQL tiver índice de criação concorrente que falhou" +
+            "então listá-lo como inválido")
+    @Test
+    void quandoPostgresTiverIndiceInvalido_EntaoListarInvalido() throws Exception {
+
+        var dataSource = mock(DataSource.class);
+        var conexao = mock(Connection.class);
+        var metadados = mock(DatabaseMetaData.class);
+        var consulta = mock(PreparedStatement.class);
+        var indices = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(conexao);
+        when(conexao.getMetaData()).thenReturn(metadados);
+        when(metadados.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(conexao.prepareStatement(VerificadorIndicesClientes.CONSULTA_INVALIDOS)).thenReturn(consulta);
+        when(consulta.executeQuery()).thenReturn(indices);
+        when(indices.next()).thenReturn(true, false);
+        when(indices.getString(1)).thenReturn("idx_clientes_busca_trgm");
+
+        var invalidos = new VerificadorIndicesClientes(dataSource).indicesInvalidos();
+
+        assertEquals(List.of("idx_clientes_busca_trgm"), invalidos);
+        verify(consulta).setString(1, "clientes");
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.cliente.rastreamento;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegistradorEtapasTest {
+
+    private ObservationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new RegistradorEtapas());
+    }
+
+    @AfterEach
+    void tearDown() {
+        EtapasRequisicao.encerrar();
+    }
+
+    @DisplayName(" Quando observações de etapas terminarem durante a requisição" +
+            "então acumular o tempo e a quantidade por etapa")
+    @Test
+    void quandoObservacoesTerminaremDuranteRequisicao_EntaoAcumularPorEtapa() {
+
+        var etapas = EtapasRequisicao.iniciar();
+
+        Observation.createNotStarted("clientes.controlador", registry).observe(() -> {
+            Observation.createNotStarted("clientes.cache", registry).observe(() -> { });
+            Observation.createNotStarted("clientes.repositorio", registry).observe(() -> { });
+            Observation.createNotStarted("clientes.repositorio", registry).observe(() -> { });
+        });
+        Observation.createNotStarted("http.server.requests", registry).observe(() -> { });
+
+        var resumo = etapas.resumo(etapas.nanos(EtapasRequisicao.CONTROLADOR) + 1_000_000);
+
+        assertTrue(resumo.matches("controlador=[0-9.]+ ms \\(1x\\), cache=[0-9.]+ ms \\(1x\\), "
+                + "repositorio=[0-9.]+ ms \\(2x\\), fora do controlador=1\\.0 ms"), resumo);
+        assertTrue(etapas.nanos("repositorio") <= etapas.nanos(EtapasRequisicao.CONTROLADOR));
+    }
+
+    @DisplayName(" Quando uma etapa terminar fora de uma requisição" +
+            "então ignorar a observação")
+    @Test
+    void quandoEtapaTerminarForaDeRequisicao_EntaoIgnorar() {
+
+        Observation.createNotStarted("clientes.repositorio", registry).observe(() -> { });
+        var etapas = EtapasRequisicao.iniciar();
+
+        assertEquals(0, etapas.nanos("repositorio"));
+        assertEquals("nenhuma etapa registrada", etapas.resumo(0));
+    }
+}
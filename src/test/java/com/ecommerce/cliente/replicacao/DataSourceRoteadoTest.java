@@ -0,0 +1,169 @@
+package com.ecommerce.cliente.replicacao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DataSourceRoteadoTest {
+
+    private DataSource primario;
+
+    private DataSource replica;
+
+    private MonitorReplicas monitor;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate leitura;
+
+    private TransactionTemplate escrita;
+
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        primario = bancoEmMemoria("primario");
+        replica = bancoEmMemoria("replica");
+        new JdbcTemplate(replica).execute("create table atraso (segundos double)");
+        new JdbcTemplate(replica).update("insert into atraso values (0)");
+
+        monitor = new MonitorReplicas(Map.of("replica-1", replica), Duration.ofSeconds(5),
+                "select segundos from atraso", new SimpleMeterRegistry());
+        var dataSource = new LazyConnectionDataSourceProxy(new DataSourceRoteado(primario, monitor));
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        escrita = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primario).execute("shutdown");
+        new JdbcTemplate(replica).execute("shutdown");
+    }
+
+    @DisplayName(" Quando a réplica estiver dentro do atraso máximo" +
+            "então transações somente leitura usam a réplica")
+    @Test
+    void quandoReplicaSaudavel_EntaoLeituraUsaReplica() {
+
+        monitor.verificar();
+
+        assertEquals("replica", leitura.execute(status -> origem()));
+        assertEquals("primario", escrita.execute(status -> origem()));
+    }
+
+    @DisplayName(" Quando a réplica ainda não foi verificada" +
+            "então transações somente leitura usam o primário")
+    @Test
+    void quandoReplicaNaoVerificada_EntaoLeituraUsaPrimario() {
+
+        assertEquals("primario", leitura.execute(status -> origem()));
+    }
+
+    @DisplayName(" Quando a réplica passar do atraso máximo" +
+            "então transações somente leitura voltam ao primário")
+    @Test
+    void quandoReplicaAtrasada_EntaoLeituraUsaPrimario() {
+
+        monitor.verificar();
+        new JdbcTemplate(replica).update("update atraso set segundos = 30");
+        monitor.verificar();
+
+        assertEquals("primario", leitura.execute(status -> origem()));
+    }
+
+    @DisplayName(" Quando a leitura for forçada ao primário" +
+            "então a transação somente leitura usa o primário")
+    @Test
+    void quandoPrimarioForcado_EntaoLeituraUsaPrimario() {
+
+        monitor.verificar();
+
+        assertEquals("primario", RoteamentoLeitura.noPrimarioSe(true,
+                () -> leitura.execute(status -> origem())));
+        assertEquals("replica", leitura.execute(status -> origem()));
+    }
+
+    @DisplayName(" Quando a réplica não encontrar o registro" +
+            "então repetir a consulta no primário depois de encerrar a primeira transação")
+    @Test
+    void quandoReplicaNaoEncontrar_EntaoConfirmarNoPrimarioForaDaTransacao() {
+
+        monitor.verificar();
+        var confirmacao = new ConfirmacaoPrimario(transactionManager);
+        var consultas = new ArrayList<String>();
+
+        var encontrado = confirmacao.lerConfirmandoAusencia(false, () -> {
+            consultas.add(origem());
+            return Optional.of(origem()).filter("primario"::equals);
+        });
+
+        assertEquals(Optional.of("primario"), encontrado);
+        assertEquals(List.of("replica", "primario"), consultas);
+    }
+
+    @DisplayName(" Quando a leitura já tiver sido servida pelo primário" +
+            "então não repetir a consulta para confirmar a ausência")
+    @Test
+    void quandoLeituraServidaPeloPrimario_EntaoNaoRepetirConsulta() {
+
+        var confirmacao = new ConfirmacaoPrimario(transactionManager);
+        var consultas = new ArrayList<String>();
+
+        var encontrado = confirmacao.lerConfirmandoAusencia(false, () -> {
+            consultas.add(origem());
+            return Optional.empty();
+        });
+
+        assertEquals(Optional.empty(), encontrado);
+        assertEquals(List.of("primario"), consultas);
+    }
+
+    @DisplayName(" Quando a leitura for forçada ao primário" +
+            "então não repetir a consulta para confirmar a ausência")
+    @Test
+    void quandoLeituraForcadaAoPrimario_EntaoNaoRepetirConsulta() {
+
+        monitor.verificar();
+        var confirmacao = new ConfirmacaoPrimario(transactionManager);
+        var consultas = new ArrayList<String>();
+
+        confirmacao.lerConfirmandoAusencia(true, () -> {
+            consultas.add(origem());
+            return Optional.empty();
+        });
+
+        assertEquals(List.of("primario"), consultas);
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("select nome from origem", String.class);
+    }
+
+    private static DataSource bancoEmMemoria(String nome) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1");
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table origem (nome varchar(20))");
+        jdbcTemplate.update("insert into origem values (?)", nome);
+        return dataSource;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.ecommerce.cliente.exceptions.BadRequestException;
+import com.ecommerce.cliente.paginacao.CursorBuscaClientes;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static com.ecommerce.cliente.TesteDataFactory.clientesAtivosResponseDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BuscaClienteServiceTest {
+
+    @Mock
+    ClienteRepository clienteRepository;
+
+    @InjectMocks
+    BuscaClienteService buscaClienteService;
+
+    private List<ClienteResponseRecordDTO> clientesResposta;
+
+    @BeforeEach
+    void setUp() {
+        clientesResposta = clientesAtivosResponseDTO();
+    }
+
+    @DisplayName(" Quando buscar clientes por termo com acentos e maiúsculas" +
+            "então consultar o padrão normalizado e retornar o próximo cursor")
+    @Test
+    void quandoBuscarClientesPorTermo_EntaoConsultarPadraoNormalizadoERetornarProximoCursor() {
+
+        when(clienteRepository.buscarPorTermos(List.of("%sao%", "%paulo\\_%"), null, Limit.of(3)))
+                .thenReturn(clientesResposta);
+
+        var resultado = buscaClienteService.buscarClientes("  SÃO   Paulo_ sao ", null, null, 2);
+
+        assertEquals(2, resultado.tamanho());
+        assertTrue(resultado.temProxima());
+        var proximaPosicao = CursorBuscaClientes.decodificar(resultado.proximoCursor());
+        assertEquals(clientesResposta.get(1).nome(), proximaPosicao.nome());
+        assertEquals(clientesResposta.get(1).id(), proximaPosicao.id());
+    }
+
+    @DisplayName(" Quando buscar a última janela por termo" +
+            "então continuar após o cursor e não retornar próximo cursor")
+    @Test
+    void quandoBuscarUltimaJanelaPorTermo_EntaoRetornarSemProximoCursor() {
+
+        var posicao = new CursorBuscaClientes("Ana | Souza", clientesResposta.get(0).id());
+        when(clienteRepository.buscarPorTermosApos(List.of("%rodrigo%"), true, "Ana | Souza", posicao.id(),
+                Limit.of(11)))
+                .thenReturn(clientesResposta.subList(1, 3));
+
+        var resultado = buscaClienteService.buscarClientes("Rodrigo", true, posicao.codificar(), 10);
+
+        assertEquals(2, resultado.tamanho());
+        assertFalse(resultado.temProxima());
+        assertNull(resultado.proximoCursor());
+    }
+
+    @DisplayName(" Quando buscar clientes sem nenhum termo de 3 caracteres" +
+            "então lançar BadRequestException sem consultar o banco")
+    @Test
+    void quandoBuscarClientesSemTermoDeTresCaracteres_EntaoLancarBadRequestException() {
+
+        var exception = assertThrows(BadRequestException.class,
+                () -> buscaClienteService.buscarClientes("ab c", null, null, 10));
+
+        assertEquals("Campo 'termo' deve ter ao menos uma palavra com 3 caracteres!", exception.getMessage());
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @DisplayName(" Quando buscar clientes com tamanho de janela acima do limite" +
+            "então lançar BadRequestException")
+    @Test
+    void quandoBuscarClientesComTamanhoAcimaDoLimite_EntaoLancarBadRequestException() {
+
+        assertThrows(BadRequestException.class,
+                () -> buscaClienteService.buscarClientes("rodrigo", null, null, 101));
+        assertThrows(BadRequestException.class,
+                () -> buscaClienteService.buscarClientes("rodrigo", null, "%%%", 10));
+    }
+}
@@ -1,13 +1,27 @@
 package com.ecommerce.cliente.services;
 
+import com.ecommerce.cliente.atualizacao.MergePatchClientes;
+import com.ecommerce.cliente.cache.CpfsAusentes;
+import com.ecommerce.cliente.cache.InvalidadorCacheClientes;
+import com.ecommerce.cliente.concorrencia.RepeticaoOtimista;
 import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
 import com.ecommerce.cliente.dtos.ClienteStatusRecordDTO;
+import com.ecommerce.cliente.exceptions.BadRequestException;
 import com.ecommerce.cliente.exceptions.ConflictException;
+import com.ecommerce.cliente.exceptions.PreconditionFailedException;
 import com.ecommerce.cliente.exceptions.ResourceNotFoundException;
 import com.ecommerce.cliente.mappers.ClienteMapper;
 import com.ecommerce.cliente.models.ClienteModel;
+import com.ecommerce.cliente.paginacao.ContadorClientes;
+import com.ecommerce.cliente.paginacao.CursorClientes;
+import com.ecommerce.cliente.replicacao.ConfirmacaoPrimario;
+import com.ecommerce.cliente.replicacao.LeituraPropriaEscrita;
+import com.ecommerce.cliente.replicacao.RoteamentoLeitura;
 import com.ecommerce.cliente.repositories.ClienteRepository;
 import com.ecommerce.cliente.validation.ClienteValidator;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,12 +30,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,6 +49,9 @@ import static com.ecommerce.cliente.TesteDataFactory.*;
 import static com.ecommerce.cliente.TesteDataFactory.clienteStatusRecordDTO;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -44,10 +66,29 @@ public class ClienteServiceTest {
     private ClienteValidator validator;
     @Mock
     private ClienteMapper mapper;
+    @Mock
+    private InvalidadorCacheClientes invalidadorCache;
+    @Mock
+    private LeituraPropriaEscrita leituraPropriaEscrita;
+    @Mock
+    private ContadorClientes contadorClientes;
+    @Mock
+    private EscritaAdiadaStatusService escritaAdiadaStatus;
+    @Mock
+    private MergePatchClientes mergePatchClientes;
+    @Mock
+    private CpfsAusentes cpfsAusentes;
+    @Spy
+    private ConfirmacaoPrimario confirmacaoPrimario = new ConfirmacaoPrimario(mock(PlatformTransactionManager.class));
+    @Spy
+    private RepeticaoOtimista repeticaoOtimista = new RepeticaoOtimista(mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry(), 3, Duration.ZERO);
 
     private List<ClienteModel> clientesDB;
     private List<ClienteModel> clientesParaPersistencia;
     private List<ClienteModel> clientesInativosDB;
+    private List<ClienteResponseRecordDTO> clientesResposta;
+    private List<ClienteResponseRecordDTO> clientesInativosResposta;
     private List<ClienteRecordDTO> clienteDTO;
     private ClienteStatusRecordDTO clienteStatusDTO;
 
@@ -57,6 +98,8 @@ public class ClienteServiceTest {
         clientesDB = clientesAtivosDB();
         clientesParaPersistencia = clientesParaPersistencia();
         clientesInativosDB = clientesInativosDB();
+        clientesResposta = clientesAtivosResponseDTO();
+        clientesInativosResposta = clientesInativosResponseDTO();
         clienteDTO = clienteDTO();
         clienteStatusDTO = clienteStatusRecordDTO();
     }
@@ -66,18 +109,22 @@ public class ClienteServiceTest {
     @Test
     void quandoRegistrarCliente_EntaoRetornarClienteRegistrado() {
 
-        doNothing().when(validator).existePorCpf(clienteDTO.get(0).cpf());
-        doNothing().when(validator).existePorEmail(clienteDTO.get(0).email());
+        doNothing().when(validator).validarUnicidade(clienteDTO.get(0).cpf(), clienteDTO.get(0).email());
         when(mapper.clienteDTOParaModel(clienteDTO.get(0))).thenReturn(clientesParaPersistencia.get(0));
         when(mapper.enderecoDTOParaEndereco(clienteDTO.get(0).endereco()))
                 .thenReturn(clientesParaPersistencia.get(0).getEndereco());
         when(clienteRepository.save(clientesParaPersistencia.get(0))).thenReturn(clientesDB.get(0));
+        when(mapper.clienteModelParaResponse(clientesDB.get(0))).thenReturn(clientesResposta.get(0));
         var resultado = clienteService.registrarCliente(clienteDTO.get(0));
 
         assertNotNull(resultado);
-        verify(validator).existePorCpf(clienteDTO.get(0).cpf());
-        verify(validator).existePorEmail(clienteDTO.get(0).email());
+        verify(validator).validarUnicidade(clienteDTO.get(0).cpf(), clienteDTO.get(0).email());
         verify(clienteRepository).save(clientesParaPersistencia.get(0));
+        verify(validator).registrarChaves(clientesDB.get(0).getCpf(), clientesDB.get(0).getEmail());
+        verify(invalidadorCache).invalidarCpf(clientesDB.get(0).getCpf());
+        verify(invalidadorCache).invalidarPaginas(true);
+        verify(invalidadorCache, never()).invalidarPaginas(false);
+        verify(leituraPropriaEscrita).registrarEscrita(clientesDB.get(0).getCpf());
     }
 
     @DisplayName(" Quando registrar o cliente com cpf existente" +
@@ -87,7 +134,7 @@ public class ClienteServiceTest {
 
         doThrow(new ConflictException("CPF " +
                 clienteDTO.get(0).cpf() + " já cadastrado!"))
-                .when(validator).existePorCpf(clienteDTO.get(0).cpf());
+                .when(validator).validarUnicidade(clienteDTO.get(0).cpf(), clienteDTO.get(0).email());
 
         var exception = assertThrows(ConflictException.class,
                 () -> clienteService.registrarCliente(clienteDTO.get(0)));
@@ -95,7 +142,8 @@ public class ClienteServiceTest {
         assertEquals("CPF " +
                 clienteDTO.get(0).cpf()
                 + " já cadastrado!", exception.getMessage());
-        verify(validator).existePorCpf(clienteDTO.get(0).cpf());
+        verify(validator).validarUnicidade(clienteDTO.get(0).cpf(), clienteDTO.get(0).email());
+        verify(clienteRepository, never()).save(any());
     }
 
     @DisplayName(" Quando registrar o cliente com e-mail existente" +
@@ -105,7 +153,7 @@ public class ClienteServiceTest {
 
         doThrow(new ConflictException("E-mail " +
                 clienteDTO.get(0).email() + " já cadastrado!"))
-                .when(validator).existePorEmail(clienteDTO.get(0).email());
+                .when(validator).validarUnicidade(clienteDTO.get(0).cpf(), clienteDTO.get(0).email());
 
         var exception = assertThrows(ConflictException.class,
                 () -> clienteService.registrarCliente(clienteDTO.get(0)));
@@ -113,7 +161,8 @@ public class ClienteServiceTest {
         assertEquals("E-mail " +
                 clienteDTO.get(0).email()
                 + " já cadastrado!", exception.getMessage());
-        verify(validator).existePorEmail(clienteDTO.get(0).email());
+        verify(validator).validarUnicidade(clienteDTO.get(0).cpf(), clienteDTO.get(0).email());
+        verify(clienteRepository, never()).save(any());
     }
 
     @DisplayName("Quando buscar  clientes ativos" +
@@ -122,15 +171,81 @@ public class ClienteServiceTest {
     void quandoBuscarClientesAtivos_EntaoRetornarClientes() {
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<ClienteModel> paginaClientes = new PageImpl<>(List.of(clientesDB.get(0),
-                clientesDB.get(1)), pageable, 2);
 
-        when(clienteRepository.findByAtivoTrue(any(Pageable.class))).thenReturn(paginaClientes);
+        when(clienteRepository.buscarFatiaPorStatus(eq(true), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(clientesResposta.get(0), clientesResposta.get(1)), pageable, false));
 
         var resultado = clienteService.buscarClientesAtivos(pageable);
 
         assertNotNull(resultado);
-        verify(clienteRepository).findByAtivoTrue(pageable);
+        assertEquals(2, resultado.getTotalElements());
+        verify(clienteRepository).buscarFatiaPorStatus(true, pageable);
+        verify(clienteRepository, never()).buscarPaginaPorStatus(anyBoolean(), any(Pageable.class));
+        verifyNoInteractions(contadorClientes);
+    }
+
+    @DisplayName("Quando buscar clientes ativos com mais páginas" +
+            "            então usar o total do contador sem count exato")
+    @Test
+    void quandoBuscarClientesAtivosComMaisPaginas_EntaoUsarTotalDoContador() {
+
+        Pageable pageable = PageRequest.of(0, 2);
+
+        when(clienteRepository.buscarFatiaPorStatus(eq(true), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(clientesResposta.get(0), clientesResposta.get(1)), pageable, true));
+        when(contadorClientes.total(true)).thenReturn(1000L);
+
+        var resultado = clienteService.buscarClientesAtivos(pageable);
+
+        assertEquals(1000L, resultado.getTotalElements());
+        assertEquals(500, resultado.getTotalPages());
+        assertTrue(resultado.hasNext());
+        verify(clienteRepository, never()).buscarPaginaPorStatus(anyBoolean(), any(Pageable.class));
+    }
+
+    @DisplayName("Quando buscar clientes ativos por cursor" +
+            "            então retornar a janela com o cursor do último cliente")
+    @Test
+    void quandoBuscarClientesAtivosPorCursor_EntaoRetornarJanelaComProximoCursor() {
+
+        when(clienteRepository.buscarJanelaInicial(true, Limit.of(3))).thenReturn(clientesResposta);
+
+        var resultado = clienteService.buscarClientesAtivosPorCursor(null, 2);
+
+        assertEquals(2, resultado.tamanho());
+        assertEquals(clientesResposta.subList(0, 2), resultado.conteudo());
+        assertTrue(resultado.temProxima());
+        var proximaPosicao = CursorClientes.decodificar(resultado.proximoCursor());
+        assertEquals(clientesResposta.get(1).id(), proximaPosicao.id());
+        assertEquals(clientesResposta.get(1).dataNascimento(), proximaPosicao.dataNascimento());
+    }
+
+    @DisplayName("Quando buscar a última janela de clientes ativos por cursor" +
+            "            então retornar a janela sem próximo cursor")
+    @Test
+    void quandoBuscarUltimaJanelaPorCursor_EntaoRetornarSemProximoCursor() {
+
+        var posicao = new CursorClientes(clientesResposta.get(0).dataNascimento(), clientesResposta.get(0).id());
+        when(clienteRepository.buscarJanelaApos(true, posicao.dataNascimento(), posicao.id(), Limit.of(11)))
+                .thenReturn(clientesResposta.subList(1, 3));
+
+        var resultado = clienteService.buscarClientesAtivosPorCursor(posicao.codificar(), 10);
+
+        assertEquals(2, resultado.tamanho());
+        assertFalse(resultado.temProxima());
+        assertNull(resultado.proximoCursor());
+    }
+
+    @DisplayName("Quando buscar clientes por cursor inválido" +
+            "            então lançar BadRequestException")
+    @Test
+    void quandoBuscarClientesPorCursorInvalido_EntaoLancarBadRequestException() {
+
+        var exception = assertThrows(BadRequestException.class,
+                () -> clienteService.buscarClientesInativosPorCursor("nao-e-um-cursor", 10));
+
+        assertEquals("Cursor inválido!", exception.getMessage());
+        verifyNoInteractions(clienteRepository);
     }
 
     @DisplayName("Quando buscar o cliente ativo por cpf" +
@@ -138,13 +253,58 @@ public class ClienteServiceTest {
     @Test
     void quandoBuscarClienteAtivoPorCpf_EntaoRetornarCliente() {
 
-        when(clienteRepository.findByCpfAndAtivoTrue("745.303.692-50")).thenReturn(Optional.ofNullable(clientesDB.get(0)));
+        when(clienteRepository.buscarPorCpfEStatus("745.303.692-50", true))
+                .thenReturn(Optional.of(clientesResposta.get(0)));
 
         var resultado = clienteService.buscarClienteAtivoPorCpf("745.303.692-50");
 
         assertNotNull(resultado);
-        assertEquals("745.303.692-50", resultado.getCpf());
-        verify(clienteRepository).findByCpfAndAtivoTrue("745.303.692-50");
+        assertEquals("745.303.692-50", resultado.cpf());
+        verify(clienteRepository).buscarPorCpfEStatus("745.303.692-50", true);
+    }
+
+    @DisplayName("Quando buscar como ativo um cliente com inativação pendente" +
+            "            então lançar ResourceNotFoundException sem consultar o banco")
+    @Test
+    void quandoBuscarAtivoComInativacaoPendente_EntaoLancarResourceNotFoundException() {
+
+        when(escritaAdiadaStatus.statusPendente("745.303.692-50")).thenReturn(Optional.of(false));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> clienteService.buscarClienteAtivoPorCpf("745.303.692-50"));
+
+        verifyNoInteractions(clienteRepository);
+    }
+
+    @DisplayName("Quando buscar como inativo um cliente com inativação pendente" +
+            "            então retornar o cliente com o status pendente")
+    @Test
+    void quandoBuscarInativoComInativacaoPendente_EntaoRetornarStatusPendente() {
+
+        when(escritaAdiadaStatus.statusPendente("745.303.692-50")).thenReturn(Optional.of(false));
+        when(clienteRepository.buscarPorCpf("745.303.692-50")).thenReturn(Optional.of(clientesResposta.get(0)));
+
+        var resultado = clienteService.buscarClienteInativoPorCpf("745.303.692-50");
+
+        assertFalse(resultado.ativo());
+        verify(clienteRepository, never()).buscarPorCpfEStatus(anyString(), anyBoolean());
+    }
+
+    @DisplayName("Quando buscar por cpf um cliente alterado recentemente" +
+            "            então ler do banco primário")
+    @Test
+    void quandoBuscarClienteAlteradoRecentemente_EntaoLerDoPrimario() {
+
+        when(leituraPropriaEscrita.isRecente("745.303.692-50")).thenReturn(true);
+        when(clienteRepository.buscarPorCpfEStatus("745.303.692-50", true)).thenAnswer(invocacao -> {
+            assertTrue(RoteamentoLeitura.isPrimarioForcado());
+            return Optional.of(clientesResposta.get(0));
+        });
+
+        var resultado = clienteService.buscarClienteAtivoPorCpf("745.303.692-50");
+
+        assertEquals("745.303.692-50", resultado.cpf());
+        assertFalse(RoteamentoLeitura.isPrimarioForcado());
     }
 
     @DisplayName("Quando buscar o cliente ativo por cpf inexistente" +
@@ -152,7 +312,7 @@ public class ClienteServiceTest {
     @Test
     void quandoBuscarClienteAtivoPorCpfInexistente_EntaoLancarResourceNotFoundException() {
 
-        when(clienteRepository.findByCpfAndAtivoTrue("462.789.844-40")).thenReturn(Optional.empty());
+        when(clienteRepository.buscarPorCpfEStatus("462.789.844-40", true)).thenReturn(Optional.empty());
 
         var exception = assertThrows(ResourceNotFoundException.class,
                 () -> clienteService.buscarClienteAtivoPorCpf("462.789.844-40"));
@@ -160,24 +320,47 @@ public class ClienteServiceTest {
         assertEquals("Cliente com o CPF " +
                 "462.789.844-40" +
                 " não foi encontrado.", exception.getMessage());
-        verify(clienteRepository).findByCpfAndAtivoTrue("462.789.844-40");
+        assertEquals(0, exception.getStackTrace().length);
+        verify(clienteRepository).buscarPorCpfEStatus("462.789.844-40", true);
+        verify(cpfsAusentes).registrar(true, "462.789.844-40");
     }
 
     @DisplayName("Quando buscar clientes inativos" +
-            "            então retornar clientesDB")
+            "            então retornar a fatia com o total do contador")
     @Test
     void quandoBuscarClientesInativos_EntaoRetornarClientes() {
 
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<ClienteModel> paginaClientes = new PageImpl<>(List.of(clientesInativosDB.get(0),
-                clientesInativosDB.get(1)), pageable, 2);
+        Pageable pageable = PageRequest.of(0, 2);
 
-        when(clienteRepository.findByAtivoFalse(any(Pageable.class))).thenReturn(paginaClientes);
+        when(clienteRepository.buscarFatiaPorStatus(eq(false), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(clientesInativosResposta.get(0),
+                        clientesInativosResposta.get(1)), pageable, true));
+        when(contadorClientes.total(false)).thenReturn(7L);
 
         var resultado = clienteService.buscarClientesInativos(pageable);
 
         assertNotNull(resultado);
-        verify(clienteRepository).findByAtivoFalse(pageable);
+        assertEquals(2, resultado.getContent().size());
+        assertEquals(7L, resultado.getTotalElements());
+        verify(clienteRepository).buscarFatiaPorStatus(false, pageable);
+        verify(clienteRepository, never()).buscarPaginaPorStatus(anyBoolean(), any(Pageable.class));
+    }
+
+    @DisplayName("Quando buscar clientes inativos com contagem exata" +
+            "            então retornar clientesDB")
+    @Test
+    void quandoBuscarClientesInativosComContagemExata_EntaoRetornarClientes() {
+
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<ClienteResponseRecordDTO> paginaClientes = new PageImpl<>(List.of(clientesInativosResposta.get(0),
+                clientesInativosResposta.get(1)), pageable, 2);
+
+        when(clienteRepository.buscarPaginaPorStatus(eq(false), any(Pageable.class))).thenReturn(paginaClientes);
+
+        var resultado = clienteService.buscarClientesInativosComContagemExata(pageable);
+
+        assertNotNull(resultado);
+        verify(clienteRepository).buscarPaginaPorStatus(false, pageable);
     }
 
     @DisplayName("Quando buscar o cliente inativo por cpf" +
@@ -185,13 +368,14 @@ public class ClienteServiceTest {
     @Test
     void quandoBuscarClienteInativoPorCpf_EntaoRetornarCliente() {
 
-        when(clienteRepository.findByCpfAndAtivoFalse("123.456.789-01")).thenReturn(Optional.ofNullable(clientesInativosDB.get(0)));
+        when(clienteRepository.buscarPorCpfEStatus("123.456.789-01", false))
+                .thenReturn(Optional.of(clientesInativosResposta.get(0)));
 
         var resultado = clienteService.buscarClienteInativoPorCpf("123.456.789-01");
 
         assertNotNull(resultado);
-        assertEquals("123.456.789-01", resultado.getCpf());
-        verify(clienteRepository).findByCpfAndAtivoFalse("123.456.789-01");
+        assertEquals("123.456.789-01", resultado.cpf());
+        verify(clienteRepository).buscarPorCpfEStatus("123.456.789-01", false);
     }
 
     @DisplayName("Quando buscar o cliente inativo por cpf inexistente" +
@@ -199,7 +383,7 @@ public class ClienteServiceTest {
     @Test
     void quandoBuscarClienteInativoPorCpfInexistente_EntaoLancarResourceNotFoundException() {
 
-        when(clienteRepository.findByCpfAndAtivoFalse("123.456.789-01")).thenReturn(Optional.empty());
+        when(clienteRepository.buscarPorCpfEStatus("123.456.789-01", false)).thenReturn(Optional.empty());
 
         var exception = assertThrows(ResourceNotFoundException.class,
                 () -> clienteService.buscarClienteInativoPorCpf("123.456.789-01"));
@@ -207,7 +391,7 @@ public class ClienteServiceTest {
         assertEquals("Cliente com o CPF " +
                 "123.456.789-01" +
                 " não foi encontrado.", exception.getMessage());
-        verify(clienteRepository).findByCpfAndAtivoFalse("123.456.789-01");
+        verify(clienteRepository).buscarPorCpfEStatus("123.456.789-01", false);
     }
 
     @DisplayName(" Quando atualizar dados do cliente" +
@@ -217,15 +401,18 @@ public class ClienteServiceTest {
 
         when(clienteRepository.findById(UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")))
                 .thenReturn(Optional.ofNullable(clientesDB.get(0)));
-        when(clienteRepository.save(any(ClienteModel.class))).thenReturn(clientesDB.get(2));
+        when(clienteRepository.saveAndFlush(any(ClienteModel.class))).thenReturn(clientesDB.get(2));
+        when(mapper.clienteModelParaResponse(clientesDB.get(2))).thenReturn(clientesResposta.get(2));
 
         var resultado = clienteService.atualizarDadosCliente(UUID.fromString(
-                "7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"),clienteDTO.get(1));
+                "7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"),clienteDTO.get(1), null);
 
         assertNotNull(resultado);
         verify(clienteRepository).findById(UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"));
         ArgumentCaptor<ClienteModel> captor = ArgumentCaptor.forClass(ClienteModel.class);
-        verify(clienteRepository).save(captor.capture());
+        verify(clienteRepository).saveAndFlush(captor.capture());
+        verify(invalidadorCache, times(2)).invalidarCpf("745.303.692-50");
+        verify(invalidadorCache).invalidarPaginas(true);
     }
 
     @DisplayName("Quando atualizar dados do cliente inexistente" +
@@ -238,7 +425,7 @@ public class ClienteServiceTest {
 
         var exception = assertThrows(ResourceNotFoundException.class,
                 () -> clienteService.atualizarDadosCliente(UUID.fromString(
-                        "822fdfb3-02a7-4f57-b3e9-3925a3ab7865"),clienteDTO.get(0)));
+                        "822fdfb3-02a7-4f57-b3e9-3925a3ab7865"),clienteDTO.get(0), null));
 
         assertEquals("Cliente com o ID " +
                 "822fdfb3-02a7-4f57-b3e9-3925a3ab7865" +
@@ -246,6 +433,47 @@ public class ClienteServiceTest {
         verify(clienteRepository).findById(UUID.fromString("822fdfb3-02a7-4f57-b3e9-3925a3ab7865"));
     }
 
+    @DisplayName(" Quando aplicar merge patch na versão atual" +
+            "então alterar só os campos do patch e gravar com flush")
+    @Test
+    void quandoAplicarMergePatchNaVersaoAtual_EntaoAlterarCamposDoPatch() {
+
+        var patch = JsonNodeFactory.instance.objectNode().put("email", "rodrigo@hotmail.com");
+        when(clienteRepository.findById(UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")))
+                .thenReturn(Optional.ofNullable(clientesDB.get(0)));
+        when(mapper.clienteModelParaRecord(clientesDB.get(0))).thenReturn(clienteDTO.get(0));
+        when(mergePatchClientes.aplicar(clienteDTO.get(0), patch)).thenReturn(new ClienteRecordDTO(
+                "Rodrigo Alves", clienteDTO.get(0).dataNascimento(), "rodrigo@hotmail.com", "745.303.692-50",
+                clienteDTO.get(0).endereco()));
+        when(clienteRepository.saveAndFlush(clientesDB.get(0))).thenReturn(clientesDB.get(0));
+        when(mapper.clienteModelParaResponse(clientesDB.get(0))).thenReturn(clientesResposta.get(2));
+
+        var resultado = clienteService.atualizarParcialmenteCliente(UUID.fromString(
+                "7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"), patch, 0L);
+
+        assertEquals(clientesResposta.get(2), resultado);
+        assertEquals("rodrigo@hotmail.com", clientesDB.get(0).getEmail());
+        verify(clienteRepository).saveAndFlush(clientesDB.get(0));
+        verify(invalidadorCache, times(2)).invalidarCpf("745.303.692-50");
+        verify(invalidadorCache).invalidarPaginas(true);
+    }
+
+    @DisplayName(" Quando aplicar merge patch com versão desatualizada" +
+            "então lançar PreconditionFailedException sem gravar")
+    @Test
+    void quandoAplicarMergePatchComVersaoDesatualizada_EntaoLancarPreconditionFailedException() {
+
+        when(clienteRepository.findById(UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")))
+                .thenReturn(Optional.ofNullable(clientesDB.get(0)));
+
+        assertThrows(PreconditionFailedException.class, () -> clienteService.atualizarParcialmenteCliente(
+                UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"),
+                JsonNodeFactory.instance.objectNode().put("nome", "Rodrigo"), 4L));
+
+        verifyNoInteractions(mergePatchClientes, invalidadorCache);
+        verify(clienteRepository, never()).saveAndFlush(any(ClienteModel.class));
+    }
+
     @DisplayName(" Deve alternar o status do cliente")
     @Test
     void deveAlternarStatusCliente() {
@@ -259,6 +487,24 @@ public class ClienteServiceTest {
 
         verify(clienteRepository).findById(UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"));
        assertFalse(clientesDB.get(0).isAtivo());
+        verify(invalidadorCache).invalidarCpf("745.303.692-50");
+        verify(invalidadorCache).invalidarPaginas(true);
+        verify(invalidadorCache).invalidarPaginas(false);
+    }
+
+    @DisplayName(" Quando alternar para o status atual" +
+            "então não invalidar o cache")
+    @Test
+    void quandoAlternarParaStatusAtual_EntaoNaoInvalidarCache() {
+
+        when(clienteRepository.findById(UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3")))
+                .thenReturn(Optional.ofNullable(clientesDB.get(0)));
+
+        clienteService.alternarStatusCliente(UUID.fromString(
+                "7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"), new ClienteStatusRecordDTO(true));
+
+        verify(clienteRepository, never()).save(any(ClienteModel.class));
+        verifyNoInteractions(invalidadorCache);
     }
 
     @DisplayName("Quando alternar status do cliente inexistente" +
@@ -292,6 +538,9 @@ public class ClienteServiceTest {
 
         verify(clienteRepository).findById(UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3"));
         verify(clienteRepository).delete(clientesDB.get(0));
+        verify(invalidadorCache).invalidarCpf("745.303.692-50");
+        verify(invalidadorCache).invalidarPaginas(true);
+        verify(invalidadorCache, never()).invalidarPaginas(false);
     }
 
     @DisplayName("Quando deletar o cliente inexistente" +
@@ -0,0 +1,209 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.cache.InvalidadorCacheClientes;
+import com.ecommerce.cliente.dtos.CpfStatusClienteRecordDTO;
+import com.ecommerce.cliente.exceptions.ResourceNotFoundException;
+import com.ecommerce.cliente.replicacao.RoteamentoLeitura;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EscritaAdiadaStatusServiceTest {
+
+    private static final UUID ID = UUID.fromString("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3");
+
+    private static final String CPF = "745.303.692-50";
+
+    @Mock
+    ClienteRepository clienteRepository;
+    @Mock
+    InvalidadorCacheClientes invalidadorCache;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path diretorio;
+
+    EscritaAdiadaStatusService escritaAdiada;
+
+    @BeforeEach
+    void setUp() {
+        escritaAdiada = novaInstancia();
+    }
+
+    @DisplayName(" Quando alternar o status várias vezes antes da descarga" +
+            "então aplicar só a última troca em um único UPDATE")
+    @Test
+    void quandoAlternarVariasVezes_EntaoAplicarUltimaTrocaEmLote() {
+
+        when(clienteRepository.buscarCpfEStatusPorId(ID)).thenReturn(Optional.of(new CpfStatusClienteRecordDTO(CPF, true)));
+
+        escritaAdiada.alternarStatus(ID, false);
+        escritaAdiada.alternarStatus(ID, true);
+        escritaAdiada.alternarStatus(ID, false);
+
+        assertEquals(Optional.of(false), escritaAdiada.statusPendente(CPF));
+        verify(invalidadorCache, times(3)).invalidarCpf(CPF);
+
+        escritaAdiada.descarregar();
+
+        verify(clienteRepository).atualizarStatus(false, List.of(ID));
+        verify(clienteRepository, never()).atualizarStatus(eq(true), anyCollection());
+        verify(invalidadorCache).invalidarPaginas(true);
+        verify(invalidadorCache).invalidarPaginas(false);
+        assertTrue(escritaAdiada.statusPendente(CPF).isEmpty());
+    }
+
+    @DisplayName(" Quando a aplicação reiniciar antes da descarga" +
+            "então recuperar as trocas do diário")
+    @Test
+    void quandoReiniciarAntesDaDescarga_EntaoRecuperarTrocasDoDiario() {
+
+        when(clienteRepository.buscarCpfEStatusPorId(ID)).thenReturn(Optional.of(new CpfStatusClienteRecordDTO(CPF, true)));
+        escritaAdiada.alternarStatus(ID, false);
+
+        var reiniciada = novaInstancia();
+
+        assertEquals(Optional.of(false), reiniciada.statusPendente(CPF));
+        reiniciada.descarregar();
+        verify(clienteRepository).atualizarStatus(false, List.of(ID));
+    }
+
+    @DisplayName(" Quando a descarga falhar" +
+            "então manter as trocas para a próxima descarga")
+    @Test
+    void quandoDescargaFalhar_EntaoManterTrocasPendentes() {
+
+        when(clienteRepository.buscarCpfEStatusPorId(ID)).thenReturn(Optional.of(new CpfStatusClienteRecordDTO(CPF, true)));
+        escritaAdiada.alternarStatus(ID, false);
+        doThrow(new QueryTimeoutException("banco indisponível")).doReturn(1)
+                .when(clienteRepository).atualizarStatus(anyBoolean(), anyCollection());
+
+        escritaAdiada.descarregar();
+
+        assertEquals(Optional.of(false), escritaAdiada.statusPendente(CPF));
+        assertEquals(Optional.of(false), novaInstancia().statusPendente(CPF));
+        verify(invalidadorCache, never()).invalidarPaginas(anyBoolean());
+
+        escritaAdiada.descarregar();
+
+        verify(clienteRepository, times(2)).atualizarStatus(false, List.of(ID));
+        assertTrue(escritaAdiada.statusPendente(CPF).isEmpty());
+    }
+
+    @DisplayName(" Quando muitos clientes alternarem o status ao mesmo tempo" +
+            "então gravar todas as trocas no diário")
+    @Test
+    void quandoMuitosClientesAlternaremAoMesmoTempo_EntaoGravarTodasNoDiario() throws Exception {
+
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 32; i++) {
+            var id = UUID.randomUUID();
+            ids.add(id);
+            when(clienteRepository.buscarCpfEStatusPorId(id))
+                    .thenReturn(Optional.of(new CpfStatusClienteRecordDTO("cpf-" + i, true)));
+        }
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var trocas = ids.stream().map(id -> executor.submit(() -> escritaAdiada.alternarStatus(id, false)))
+                    .toList();
+            for (var troca : trocas) {
+                troca.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        var reiniciada = novaInstancia();
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(Optional.of(false), reiniciada.statusPendente("cpf-" + i));
+        }
+    }
+
+    @DisplayName(" Quando alternar para o status lido no banco" +
+            "então registrar a troca e deixar o UPDATE filtrar")
+    @Test
+    void quandoAlternarParaStatusLido_EntaoRegistrarTroca() {
+
+        when(clienteRepository.buscarCpfEStatusPorId(ID)).thenAnswer(invocacao -> {
+            assertTrue(RoteamentoLeitura.isPrimarioForcado());
+            return Optional.of(new CpfStatusClienteRecordDTO(CPF, true));
+        });
+
+        escritaAdiada.alternarStatus(ID, true);
+
+        assertEquals(Optional.of(true), escritaAdiada.statusPendente(CPF));
+        escritaAdiada.descarregar();
+        verify(clienteRepository).atualizarStatus(true, List.of(ID));
+    }
+
+    @DisplayName(" Quando alternar A, B e A de novo antes da descarga" +
+            "então aplicar a última troca")
+    @Test
+    void quandoAlternarIdaEVoltaAntesDaDescarga_EntaoAplicarUltimaTroca() {
+
+        when(clienteRepository.buscarCpfEStatusPorId(ID)).thenReturn(Optional.of(new CpfStatusClienteRecordDTO(CPF, false)));
+
+        escritaAdiada.alternarStatus(ID, true);
+        escritaAdiada.alternarStatus(ID, false);
+
+        assertEquals(Optional.of(false), escritaAdiada.statusPendente(CPF));
+        escritaAdiada.descarregar();
+        verify(clienteRepository).atualizarStatus(false, List.of(ID));
+        verify(clienteRepository, never()).atualizarStatus(eq(true), anyCollection());
+    }
+
+    @DisplayName(" Quando alternar de volta depois de uma descarga com a leitura ainda atrasada" +
+            "então registrar a troca")
+    @Test
+    void quandoAlternarDeVoltaDepoisDaDescarga_EntaoRegistrarTroca() {
+
+        when(clienteRepository.buscarCpfEStatusPorId(ID)).thenReturn(Optional.of(new CpfStatusClienteRecordDTO(CPF, true)));
+        escritaAdiada.alternarStatus(ID, false);
+        escritaAdiada.descarregar();
+
+        escritaAdiada.alternarStatus(ID, true);
+
+        assertEquals(Optional.of(true), escritaAdiada.statusPendente(CPF));
+        escritaAdiada.descarregar();
+        verify(clienteRepository).atualizarStatus(false, List.of(ID));
+        verify(clienteRepository).atualizarStatus(true, List.of(ID));
+    }
+
+    @DisplayName(" Quando alternar o status de cliente inexistente" +
+            "então lançar ResourceNotFoundException")
+    @Test
+    void quandoAlternarClienteInexistente_EntaoLancarResourceNotFoundException() {
+
+        when(clienteRepository.buscarCpfEStatusPorId(ID)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> escritaAdiada.alternarStatus(ID, false));
+    }
+
+    private EscritaAdiadaStatusService novaInstancia() {
+        return new EscritaAdiadaStatusService(clienteRepository, invalidadorCache, transactionManager,
+                new SimpleMeterRegistry(), true, 1000, diretorio.toString());
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.ecommerce.cliente.dtos.FiltroExportacaoRecordDTO;
+import com.ecommerce.cliente.enums.FormatoExportacao;
+import com.ecommerce.cliente.exceptions.BadRequestException;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.ecommerce.cliente.TesteDataFactory.clientesAtivosResponseDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportacaoClienteServiceTest {
+
+    @Mock
+    ClienteRepository clienteRepository;
+
+    ExportacaoClienteService exportacaoClienteService;
+
+    private List<ClienteResponseRecordDTO> clientes;
+
+    @BeforeEach
+    void setUp() {
+        var objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportacaoClienteService = new ExportacaoClienteService(clienteRepository, objectMapper);
+        clientes = clientesAtivosResponseDTO();
+    }
+
+    @DisplayName(" Quando exportar clientes em ndjson" +
+            "então escrever um objeto JSON por linha")
+    @Test
+    void quandoExportarClientesEmNdjson_EntaoEscreverUmObjetoPorLinha() throws Exception {
+
+        var filtro = new FiltroExportacaoRecordDTO(true, null, null);
+        when(clienteRepository.streamParaExportacao(true, null, null))
+                .thenReturn(Stream.of(clientes.get(0), clientes.get(1)));
+        var saida = new ByteArrayOutputStream();
+
+        var exportados = exportacaoClienteService.exportarClientes(filtro, FormatoExportacao.NDJSON, saida);
+
+        var linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exportados);
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[0].startsWith("{") && linhas[0].contains("\"cpf\":\"745.303.692-50\""));
+        assertTrue(linhas[1].contains("\"nome\":\"José Carlos\""));
+        assertTrue(linhas[0].contains("\"endereco\":{\"logradouro\":\"Avenida Paulista\""));
+    }
+
+    @DisplayName(" Quando exportar clientes em csv" +
+            "então escrever cabeçalho e escapar campos com vírgula")
+    @Test
+    void quandoExportarClientesEmCsv_EntaoEscreverCabecalhoEEscaparCampos() throws Exception {
+
+        var base = clientes.get(0);
+        var cliente = new ClienteResponseRecordDTO(base.id(), "Alves, Rodrigo", base.dataNascimento(), base.email(),
+                base.cpf(), base.endereco(), base.ativo(), base.versao());
+        var filtro = new FiltroExportacaoRecordDTO(null, LocalDate.of(2000, 1, 1), null);
+        when(clienteRepository.streamParaExportacao(null, LocalDate.of(2000, 1, 1), null))
+                .thenReturn(Stream.of(cliente));
+        var saida = new ByteArrayOutputStream();
+
+        exportacaoClienteService.exportarClientes(filtro, FormatoExportacao.CSV, saida);
+
+        var linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,nome,dataNascimento,email,cpf,logradouro,numero,bairro,cidade,estado,cep,ativo", linhas[0]);
+        assertEquals("7ecc1e5b-846c-4e64-ac61-a54b2656e1b3,\"Alves, Rodrigo\",2002-02-07,teste@gmail.com,"
+                + "745.303.692-50,Avenida Paulista,1000,Bela Vista,São Paulo,SP,01310-100,true", linhas[1]);
+    }
+
+    @DisplayName(" Quando validar filtro com intervalo invertido" +
+            "então lançar BadRequestException")
+    @Test
+    void quandoValidarFiltroComIntervaloInvertido_EntaoLancarBadRequestException() {
+
+        var filtro = new FiltroExportacaoRecordDTO(null, LocalDate.of(2000, 1, 1), LocalDate.of(1990, 1, 1));
+
+        assertThrows(BadRequestException.class, () -> exportacaoClienteService.validarFiltro(filtro));
+        verifyNoInteractions(clienteRepository);
+    }
+}
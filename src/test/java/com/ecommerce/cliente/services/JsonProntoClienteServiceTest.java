@@ -0,0 +1,58 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.dtos.ClienteResponseRecordDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static com.ecommerce.cliente.TesteDataFactory.clientesAtivosResponseDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JsonProntoClienteServiceTest {
+
+    @Mock
+    private ClienteService clienteService;
+
+    private ObjectMapper mapper;
+
+    private JsonProntoClienteService jsonProntoClienteService;
+
+    private List<ClienteResponseRecordDTO> clientesDB;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        jsonProntoClienteService = new JsonProntoClienteService(clienteService, new ConcurrentMapCacheManager(),
+                mapper, true, true);
+        clientesDB = clientesAtivosResponseDTO();
+    }
+
+    @DisplayName(" Quando buscar o mesmo cpf duas vezes" +
+            "então montar o JSON uma vez e servir a segunda do cache")
+    @Test
+    void quandoBuscarMesmoCpfDuasVezes_EntaoServirSegundaDoCache() throws Exception {
+
+        when(clienteService.buscarClienteAtivoPorCpf("745.303.692-50")).thenReturn(clientesDB.get(0));
+
+        var primeira = jsonProntoClienteService.buscarClienteAtivoPorCpf("745.303.692-50");
+        var segunda = jsonProntoClienteService.buscarClienteAtivoPorCpf("745.303.692-50");
+
+        verify(clienteService, times(1)).buscarClienteAtivoPorCpf("745.303.692-50");
+        assertSame(primeira, segunda);
+        assertTrue(primeira.gzip());
+        assertEquals(clientesDB.get(0).versao(), primeira.versao());
+        assertEquals(clientesDB.get(0), mapper.readValue(primeira.json(), ClienteResponseRecordDTO.class));
+    }
+}
@@ -0,0 +1,154 @@
+package com.ecommerce.cliente.services;
+
+import com.ecommerce.cliente.cache.InvalidadorCacheClientes;
+import com.ecommerce.cliente.dtos.ChavesClienteRecordDTO;
+import com.ecommerce.cliente.dtos.ClienteRecordDTO;
+import com.ecommerce.cliente.enums.StatusItemLote;
+import com.ecommerce.cliente.exceptions.BadRequestException;
+import com.ecommerce.cliente.mappers.ClienteMapper;
+import com.ecommerce.cliente.models.ClienteModel;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import com.ecommerce.cliente.validation.FiltroUnicidadeClientes;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mapstruct.factory.Mappers;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.cliente.TesteDataFactory.clienteDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RegistroLoteClienteServiceTest {
+
+    @Mock
+    ClienteRepository clienteRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    InvalidadorCacheClientes invalidadorCache;
+    @Mock
+    FiltroUnicidadeClientes filtroUnicidade;
+
+    RegistroLoteClienteService registroLoteClienteService;
+
+    private List<ClienteRecordDTO> clienteDTO;
+
+    @BeforeEach
+    void setUp() {
+        registroLoteClienteService = new RegistroLoteClienteService(clienteRepository,
+                Mappers.getMapper(ClienteMapper.class),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                transactionManager, invalidadorCache, filtroUnicidade, 10, 2);
+        clienteDTO = clienteDTO();
+        lenient().when(filtroUnicidade.podeExistir(any(), any())).thenReturn(true);
+    }
+
+    @DisplayName(" Quando registrar lote válido" +
+            "então consultar unicidade uma vez por bloco e inserir em lote")
+    @Test
+    @SuppressWarnings("unchecked")
+    void quandoRegistrarLoteValido_EntaoConsultarUnicidadePorBlocoEInserirEmLote() {
+
+        var outroCliente = new ClienteRecordDTO("José Carlos", clienteDTO.get(0).dataNascimento(),
+                "teste2@hotmail.com", "594.642.567-61", clienteDTO.get(0).endereco());
+        when(clienteRepository.findChavesExistentes(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(clienteRepository.saveAll(any())).thenAnswer(invocacao -> {
+            List<ClienteModel> salvos = new ArrayList<>();
+            for (var cliente : (Iterable<ClienteModel>) invocacao.getArgument(0)) {
+                cliente.setId(UUID.randomUUID());
+                salvos.add(cliente);
+            }
+            return salvos;
+        });
+
+        var resultado = registroLoteClienteService.registrarClientes(List.of(clienteDTO.get(0), outroCliente));
+
+        assertEquals(2, resultado.registrados());
+        assertEquals(0, resultado.rejeitados());
+        assertNotNull(resultado.itens().get(1).id());
+        verify(clienteRepository, times(1)).findChavesExistentes(
+                List.of("745.303.692-50", "594.642.567-61"), List.of("teste@gmail.com", "teste2@hotmail.com"));
+        verify(clienteRepository, times(1)).saveAll(any());
+        verify(filtroUnicidade).registrarTodos(List.of(
+                new ChavesClienteRecordDTO("745.303.692-50", "teste@gmail.com"),
+                new ChavesClienteRecordDTO("594.642.567-61", "teste2@hotmail.com")));
+        verify(invalidadorCache).invalidarPaginas(true);
+    }
+
+    @DisplayName(" Quando o filtro de unicidade descartar todas as chaves do bloco" +
+            "então inserir sem consultar o banco")
+    @Test
+    @SuppressWarnings("unchecked")
+    void quandoFiltroDescartarChavesDoBloco_EntaoInserirSemConsultarBanco() {
+
+        when(filtroUnicidade.podeExistir(any(), any())).thenReturn(false);
+        when(clienteRepository.saveAll(any())).thenAnswer(invocacao -> {
+            List<ClienteModel> salvos = new ArrayList<>();
+            ((Iterable<ClienteModel>) invocacao.getArgument(0)).forEach(salvos::add);
+            return salvos;
+        });
+
+        var resultado = registroLoteClienteService.registrarClientes(List.of(clienteDTO.get(0)));
+
+        assertEquals(1, resultado.registrados());
+        verify(clienteRepository, never()).findChavesExistentes(anyCollection(), anyCollection());
+        verify(clienteRepository).saveAll(any());
+    }
+
+    @DisplayName(" Quando registrar lote com itens inválidos, repetidos e existentes" +
+            "então reportar cada item e inserir apenas os válidos")
+    @Test
+    @SuppressWarnings("unchecked")
+    void quandoRegistrarLoteComItensRejeitados_EntaoReportarCadaItem() {
+
+        var invalido = new ClienteRecordDTO("", clienteDTO.get(0).dataNascimento(),
+                "teste3@gmail.com", "123", clienteDTO.get(0).endereco());
+        var existente = new ClienteRecordDTO("Lucas Silva", clienteDTO.get(0).dataNascimento(),
+                "teste1@gmail.com", "594.642.567-61", clienteDTO.get(0).endereco());
+        when(clienteRepository.findChavesExistentes(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new ChavesClienteRecordDTO("594.642.567-61", "teste1@gmail.com")));
+        when(clienteRepository.saveAll(any())).thenAnswer(invocacao -> {
+            List<ClienteModel> salvos = new ArrayList<>();
+            ((Iterable<ClienteModel>) invocacao.getArgument(0)).forEach(salvos::add);
+            return salvos;
+        });
+
+        var resultado = registroLoteClienteService.registrarClientes(
+                List.of(clienteDTO.get(0), clienteDTO.get(1), invalido, existente));
+
+        assertEquals(1, resultado.registrados());
+        assertEquals(3, resultado.rejeitados());
+        assertEquals(StatusItemLote.REGISTRADO, resultado.itens().get(0).status());
+        assertEquals(List.of("CPF 745.303.692-50 repetido no lote!"), resultado.itens().get(1).erros());
+        assertEquals(StatusItemLote.INVALIDO, resultado.itens().get(2).status());
+        assertTrue(resultado.itens().get(2).erros().contains("CPF inválido!"));
+        assertEquals(List.of("CPF 594.642.567-61 já cadastrado!", "E-mail teste1@gmail.com já cadastrado!"),
+                resultado.itens().get(3).erros());
+        verify(clienteRepository, times(1)).saveAll(any());
+        verify(invalidadorCache).invalidarPaginas(true);
+    }
+
+    @DisplayName(" Quando registrar lote acima do tamanho máximo" +
+            "então lançar BadRequestException")
+    @Test
+    void quandoRegistrarLoteAcimaDoTamanhoMaximo_EntaoLancarBadRequestException() {
+
+        var lote = Collections.nCopies(11, clienteDTO.get(0));
+
+        assertThrows(BadRequestException.class, () -> registroLoteClienteService.registrarClientes(lote));
+        verifyNoInteractions(clienteRepository);
+    }
+}
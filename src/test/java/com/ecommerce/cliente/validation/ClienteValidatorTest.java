@@ -1,5 +1,6 @@
 package com.ecommerce.cliente.validation;
 
+import com.ecommerce.cliente.dtos.ChavesClienteRecordDTO;
 import com.ecommerce.cliente.dtos.ClienteRecordDTO;
 import com.ecommerce.cliente.exceptions.ConflictException;
 import com.ecommerce.cliente.repositories.ClienteRepository;
@@ -9,7 +10,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -17,6 +17,7 @@ import java.util.List;
 import static com.ecommerce.cliente.TesteDataFactory.clienteDTO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,52 +27,58 @@ public class ClienteValidatorTest {
     ClienteValidator clienteValidator;
     @Mock
     ClienteRepository clienteRepository;
+    @Mock
+    FiltroUnicidadeClientes filtroUnicidade;
 
     private List<ClienteRecordDTO> clienteDTO;
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
         clienteDTO = clienteDTO();
     }
 
-    @DisplayName(" Deve validar o cliente com cpf inexistente")
+    @DisplayName(" Deve validar o cliente com cpf e e-mail inexistentes em uma única consulta")
     @Test
-    void deveValidarClienteCpfInexistente() {
+    void deveValidarClienteCpfEEmailInexistentes() {
 
-        when(clienteRepository.existsByCpf("641.496.185-00")).thenReturn(false);
+        when(filtroUnicidade.podeExistir("641.496.185-00", "robertoalmeida@teste.com")).thenReturn(true);
+        when(clienteRepository.findChavesExistentes(List.of("641.496.185-00"), List.of("robertoalmeida@teste.com")))
+                .thenReturn(List.of());
 
-        clienteValidator.existePorCpf("641.496.185-00");
+        clienteValidator.validarUnicidade("641.496.185-00", "robertoalmeida@teste.com");
 
-        verify(clienteRepository).existsByCpf("641.496.185-00");
+        verify(clienteRepository, times(1))
+                .findChavesExistentes(List.of("641.496.185-00"), List.of("robertoalmeida@teste.com"));
     }
 
-    @DisplayName(" Quando validar o cliente com cpf existente" +
-            "então lançar ConflictException")
+    @DisplayName(" Quando o filtro de unicidade descartar as chaves" +
+            "então validar sem consultar o banco")
     @Test
-    void quandoValidarClienteCpfExistente_EntaoLancarConflictException() {
+    void quandoFiltroDescartarChaves_EntaoValidarSemConsultarBanco() {
 
-        when(clienteRepository.existsByCpf(clienteDTO.get(0).cpf())).thenReturn(true);
+        when(filtroUnicidade.podeExistir("641.496.185-00", "robertoalmeida@teste.com")).thenReturn(false);
 
-        var exception = assertThrows(ConflictException.class,
-                () -> clienteValidator.existePorCpf(clienteDTO.get(0).cpf()));
+        clienteValidator.validarUnicidade("641.496.185-00", "robertoalmeida@teste.com");
 
-        assertEquals("CPF " +
-                clienteDTO.get(0).cpf()
-                + " já cadastrado!", exception.getMessage());
-        verify(clienteRepository).existsByCpf(clienteDTO.get(0).cpf());
+        verifyNoInteractions(clienteRepository);
     }
 
-    @DisplayName(" Deve validar o cliente com e-mail inexistente")
+    @DisplayName(" Quando validar o cliente com cpf existente" +
+            "então lançar ConflictException")
     @Test
-    void DeveValidarClienteEmailInexistente() {
-
+    void quandoValidarClienteCpfExistente_EntaoLancarConflictException() {
 
-        when(clienteRepository.existsByEmail("robertoalmeida@teste.com")).thenReturn(false);
+        var cpf = clienteDTO.get(0).cpf();
+        var email = clienteDTO.get(0).email();
+        when(filtroUnicidade.podeExistir(cpf, email)).thenReturn(true);
+        when(clienteRepository.findChavesExistentes(List.of(cpf), List.of(email)))
+                .thenReturn(List.of(new ChavesClienteRecordDTO(cpf, "outro@gmail.com")));
 
-        clienteValidator.existePorEmail("robertoalmeida@teste.com");
+        var exception = assertThrows(ConflictException.class,
+                () -> clienteValidator.validarUnicidade(cpf, email));
 
-        verify(clienteRepository).existsByEmail("robertoalmeida@teste.com");
+        assertEquals("CPF " + cpf + " já cadastrado!", exception.getMessage());
+        verify(clienteRepository, times(1)).findChavesExistentes(anyCollection(), anyCollection());
     }
 
     @DisplayName(" Quando validar o cliente com e-mail existente" +
@@ -79,15 +86,16 @@ public class ClienteValidatorTest {
     @Test
     void quandoValidarClienteEmailExistente_EntaoLancarConflictException() {
 
-
-        when(clienteRepository.existsByEmail(clienteDTO.get(0).email())).thenReturn(true);
+        var cpf = clienteDTO.get(0).cpf();
+        var email = clienteDTO.get(0).email();
+        when(filtroUnicidade.podeExistir(cpf, email)).thenReturn(true);
+        when(clienteRepository.findChavesExistentes(List.of(cpf), List.of(email)))
+                .thenReturn(List.of(new ChavesClienteRecordDTO("641.496.185-00", email)));
 
         var exception = assertThrows(ConflictException.class,
-                () -> clienteValidator.existePorEmail(clienteDTO.get(0).email()));
+                () -> clienteValidator.validarUnicidade(cpf, email));
 
-        assertEquals("E-mail " +
-                clienteDTO.get(0).email()
-                + " já cadastrado!", exception.getMessage());
-        verify(clienteRepository).existsByEmail(clienteDTO.get(0).email());
+        assertEquals("E-mail " + email + " já cadastrado!", exception.getMessage());
+        verify(clienteRepository, times(1)).findChavesExistentes(anyCollection(), anyCollection());
     }
-}
\ No newline at end of file
+}
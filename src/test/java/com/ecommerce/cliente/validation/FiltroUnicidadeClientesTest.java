@@ -0,0 +1,132 @@
+package com.ecommerce.cliente.validation;
+
+import com.ecommerce.cliente.dtos.ChavesClienteRecordDTO;
+import com.ecommerce.cliente.replicacao.RoteamentoLeitura;
+import com.ecommerce.cliente.repositories.ClienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FiltroUnicidadeClientesTest {
+
+    @Mock
+    ClienteRepository clienteRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @Mock
+    StringRedisTemplate redisTemplate;
+
+    FiltroUnicidadeClientes filtroUnicidade;
+
+    @BeforeEach
+    void setUp() {
+        filtroUnicidade = new FiltroUnicidadeClientes(clienteRepository, transactionManager, redisTemplate,
+                1000, 0.01, "clientes:unicidade");
+    }
+
+    @DisplayName(" Quando o filtro ainda não foi construído" +
+            "então considerar que qualquer chave pode existir")
+    @Test
+    void quandoFiltroNaoConstruido_EntaoConsiderarQueChavePodeExistir() {
+
+        assertFalse(filtroUnicidade.isPronto());
+        assertTrue(filtroUnicidade.podeExistir("641.496.185-00", "robertoalmeida@teste.com"));
+    }
+
+    @DisplayName(" Quando reconstruir o filtro" +
+            "então reconhecer as chaves cadastradas e descartar as desconhecidas")
+    @Test
+    void quandoReconstruirFiltro_EntaoReconhecerChavesCadastradas() {
+
+        when(clienteRepository.count()).thenReturn(1L);
+        when(clienteRepository.streamChaves())
+                .thenReturn(Stream.of(new ChavesClienteRecordDTO("745.303.692-50", "teste@gmail.com")));
+
+        filtroUnicidade.reconstruir();
+
+        assertTrue(filtroUnicidade.isPronto());
+        assertTrue(filtroUnicidade.podeExistir("745.303.692-50", "novo@gmail.com"));
+        assertTrue(filtroUnicidade.podeExistir("641.496.185-00", "teste@gmail.com"));
+        assertFalse(filtroUnicidade.podeExistir("641.496.185-00", "robertoalmeida@teste.com"));
+    }
+
+    @DisplayName(" Quando reconstruir o filtro" +
+            "então ler as chaves do primário")
+    @Test
+    void quandoReconstruirFiltro_EntaoLerDoPrimario() {
+
+        when(clienteRepository.streamChaves()).thenAnswer(invocacao -> {
+            assertTrue(RoteamentoLeitura.isPrimarioForcado());
+            return Stream.of(new ChavesClienteRecordDTO("745.303.692-50", "teste@gmail.com"));
+        });
+
+        filtroUnicidade.reconstruir();
+
+        assertTrue(filtroUnicidade.podeExistir("745.303.692-50", "novo@gmail.com"));
+        assertFalse(RoteamentoLeitura.isPrimarioForcado());
+    }
+
+    @DisplayName(" Quando registrar chaves durante a reconstrução" +
+            "então mantê-las no filtro novo")
+    @Test
+    void quandoRegistrarChavesDuranteReconstrucao_EntaoMantelasNoFiltroNovo() {
+
+        when(clienteRepository.streamChaves()).thenReturn(Stream.empty());
+        filtroUnicidade.reconstruir();
+        when(clienteRepository.streamChaves()).thenAnswer(invocacao -> {
+            filtroUnicidade.registrar("641.496.185-00", "robertoalmeida@teste.com");
+            return Stream.of(new ChavesClienteRecordDTO("745.303.692-50", "teste@gmail.com"));
+        });
+
+        filtroUnicidade.reconstruir();
+
+        assertTrue(filtroUnicidade.podeExistir("641.496.185-00", "outro@gmail.com"));
+        assertTrue(filtroUnicidade.podeExistir("745.303.692-50", "novo@gmail.com"));
+    }
+
+    @DisplayName(" Quando registrar chaves" +
+            "então adicioná-las ao filtro local e propagá-las às demais instâncias")
+    @Test
+    void quandoRegistrarChaves_EntaoAdicionarLocalmenteEPropagar() {
+
+        when(clienteRepository.streamChaves()).thenReturn(Stream.empty());
+        filtroUnicidade.reconstruir();
+
+        filtroUnicidade.registrar("641.496.185-00", "robertoalmeida@teste.com");
+
+        assertTrue(filtroUnicidade.podeExistir("641.496.185-00", "outro@gmail.com"));
+        verify(redisTemplate).convertAndSend(eq("clientes:unicidade"), anyString());
+    }
+
+    @DisplayName(" Quando receber chaves de outra instância" +
+            "então adicioná-las ao filtro local")
+    @Test
+    void quandoReceberChavesDeOutraInstancia_EntaoAdicionarAoFiltro() {
+
+        when(clienteRepository.streamChaves()).thenReturn(Stream.empty());
+        filtroUnicidade.reconstruir();
+        var corpo = "outra-instancia\n641.496.185-00\nrobertoalmeida@teste.com\n594.642.567-61\nteste2@hotmail.com";
+
+        filtroUnicidade.onMessage(new DefaultMessage("clientes:unicidade".getBytes(StandardCharsets.UTF_8),
+                corpo.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(filtroUnicidade.podeExistir("641.496.185-00", "outro@gmail.com"));
+        assertTrue(filtroUnicidade.podeExistir("000.000.000-00", "teste2@hotmail.com"));
+    }
+}